@@ -0,0 +1,233 @@
+package Trie;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.*;
+
+/**
+ * Сканер текста по словарю на основе автомата Ахо–Корасик.
+ * Строится из {@link Trie}: к узлам дерева добавляются ссылки неудач (самый длинный
+ * собственный суффикс, который тоже есть в дереве) и выходные ссылки (ближайший такой суффикс,
+ * являющийся словом). После этого один проход по тексту находит все вхождения всех слов
+ * за линейное время, без выделения памяти на каждый символ.
+ *
+ * <p>Автомат — неизменяемый снимок дерева: после изменения Trie его нужно построить заново.
+ * Состояния пронумерованы в порядке обхода в ширину, поэтому дети состояния занимают
+ * непрерывный диапазон номеров, а ребро с индексом e ведёт в состояние e + 1.
+ */
+public class AhoCorasick {
+
+    /**
+     * Обработчик найденных вхождений
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param word  найденное слово словаря
+         * @param start позиция первого символа вхождения
+         * @param end   позиция после последнего символа вхождения
+         */
+        void onMatch(String word, long start, long end);
+    }
+
+    private static final int ROOT = 0;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    // Рёбра состояния s: метки edgeLabels[firstEdge[s] .. firstEdge[s + 1]), отсортированы
+    private final int[] firstEdge;
+    private final char[] edgeLabels;
+    private final int[] fail;
+    // Ближайшее по цепочке неудач состояние-слово (ROOT, если такого нет)
+    private final int[] output;
+    private final int[] depth;
+    // Слово для состояний, которыми заканчиваются слова словаря, иначе null
+    private final String[] words;
+
+    private AhoCorasick(int[] firstEdge, char[] edgeLabels, int[] fail, int[] output,
+            int[] depth, String[] words) {
+        this.firstEdge = firstEdge;
+        this.edgeLabels = edgeLabels;
+        this.fail = fail;
+        this.output = output;
+        this.depth = depth;
+        this.words = words;
+    }
+
+    /**
+     * Построение автомата по текущему содержимому дерева
+     *
+     * @param trie словарь искомых слов
+     * @return готовый сканер
+     */
+    public static AhoCorasick compile(Trie trie) {
+        // Обход в ширину: номер состояния совпадает с позицией узла в списке
+        List<Trie.TrieNode> nodes = new ArrayList<>();
+        nodes.add(trie.getRoot());
+        int[] firstEdge = new int[16];
+        char[] edgeLabels = new char[16];
+        int[] parent = new int[16];
+
+        for (int state = 0; state < nodes.size(); state++) {
+            Trie.TrieNode node = nodes.get(state);
+            if (state + 1 >= firstEdge.length) {
+                firstEdge = Arrays.copyOf(firstEdge, firstEdge.length * 2);
+            }
+            firstEdge[state] = nodes.size() - 1;
+            for (int i = 0; i < node.childCount; i++) {
+                int edge = nodes.size() - 1;
+                if (edge == edgeLabels.length) {
+                    edgeLabels = Arrays.copyOf(edgeLabels, edge * 2);
+                    parent = Arrays.copyOf(parent, edge * 2);
+                }
+                edgeLabels[edge] = node.keys[i];
+                parent[edge] = state;
+                nodes.add(node.children[i]);
+            }
+        }
+
+        int stateCount = nodes.size();
+        firstEdge[stateCount] = stateCount - 1;
+        firstEdge = Arrays.copyOf(firstEdge, stateCount + 1);
+        edgeLabels = Arrays.copyOf(edgeLabels, stateCount - 1);
+
+        int[] fail = new int[stateCount];
+        int[] output = new int[stateCount];
+        int[] depth = new int[stateCount];
+        String[] words = new String[stateCount];
+        AhoCorasick automaton = new AhoCorasick(firstEdge, edgeLabels, fail, output, depth, words);
+
+        // Состояния обрабатываются в порядке обхода в ширину: ссылки родителя уже готовы
+        for (int state = 1; state < stateCount; state++) {
+            int from = parent[state - 1];
+            char c = edgeLabels[state - 1];
+            depth[state] = depth[from] + 1;
+            fail[state] = from == ROOT ? ROOT : automaton.next(fail[from], c);
+            output[state] = words[fail[state]] != null ? fail[state] : output[fail[state]];
+            if (nodes.get(state).isEndOfWord) {
+                words[state] = automaton.spell(state, parent);
+            }
+        }
+
+        return automaton;
+    }
+
+    /**
+     * Восстановление слова по цепочке родителей
+     */
+    private String spell(int state, int[] parent) {
+        char[] word = new char[depth[state]];
+        for (int s = state, i = word.length - 1; s != ROOT; s = parent[s - 1], i--) {
+            word[i] = edgeLabels[s - 1];
+        }
+        return new String(word);
+    }
+
+    /**
+     * Переход автомата по символу с откатом по ссылкам неудач
+     */
+    private int next(int state, char c) {
+        while (true) {
+            int edge = Arrays.binarySearch(edgeLabels, firstEdge[state], firstEdge[state + 1], c);
+            if (edge >= 0) {
+                return edge + 1;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    /**
+     * Сообщение обо всех словах, оканчивающихся в текущем состоянии
+     */
+    private void reportMatches(int state, long end, MatchListener listener) {
+        int match = words[state] != null ? state : output[state];
+        while (match != ROOT) {
+            listener.onMatch(words[match], end - depth[match], end);
+            match = output[match];
+        }
+    }
+
+    /**
+     * Поиск всех вхождений слов словаря в тексте
+     *
+     * @param text     текст для сканирования
+     * @param listener обработчик вхождений, вызывается в порядке позиций конца
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            reportMatches(state, i + 1, listener);
+        }
+    }
+
+    /**
+     * Поиск всех вхождений слов словаря в потоке символов.
+     * Поток читается блоками и не загружается в память целиком.
+     *
+     * @param reader   источник текста
+     * @param listener обработчик вхождений; позиции отсчитываются от начала потока
+     */
+    public void scan(Reader reader, MatchListener listener) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int state = ROOT;
+        long position = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                state = next(state, buffer[i]);
+                position++;
+                reportMatches(state, position, listener);
+            }
+        }
+    }
+
+    /**
+     * Проверка, содержит ли текст хотя бы одно слово словаря
+     *
+     * @param text текст для проверки
+     * @return true при первом найденном вхождении
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (words[state] != null || output[state] != ROOT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Получение всех вхождений слов словаря в тексте
+     *
+     * @param text текст для сканирования
+     * @return найденные слова в порядке позиций конца вхождения
+     */
+    public List<String> findAll(CharSequence text) {
+        List<String> result = new ArrayList<>();
+        scan(text, (word, start, end) -> result.add(word));
+        return result;
+    }
+
+    // Пример использования
+    public static void main(String[] args) throws IOException {
+        Trie keywords = new Trie();
+        keywords.insert("he");
+        keywords.insert("she");
+        keywords.insert("his");
+        keywords.insert("hers");
+        keywords.insert("ERROR");
+
+        AhoCorasick scanner = AhoCorasick.compile(keywords);
+        System.out.println("Matches in 'ushers': " + scanner.findAll("ushers")); // [she, he, hers]
+
+        scanner.scan(new StringReader("INFO ok\nERROR disk full\n"), (word, start, end) ->
+                System.out.println("Found '" + word + "' at [" + start + ", " + end + ")"));
+        System.out.println("Contains any in 'nothing here': " + scanner.containsAny("nothing here")); // true
+    }
+}
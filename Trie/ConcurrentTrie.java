@@ -0,0 +1,444 @@
+package Trie;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезопасное префиксное дерево для множества читателей и писателей.
+ * Содержимое каждого узла — неизменяемый снимок (дети и флаг конца слова),
+ * который заменяется целиком через CAS. Чтение не берёт блокировок,
+ * запись конкурирует только за узлы на своём пути.
+ * API совпадает с {@link Trie}.
+ */
+public class ConcurrentTrie {
+
+    // Неизменяемое состояние узла: отсортированные метки, дети и флаг конца слова
+    private static final class State {
+        private final char[] keys;
+        private final Node[] children;
+        private final boolean isEndOfWord;
+
+        private State(char[] keys, Node[] children, boolean isEndOfWord) {
+            this.keys = keys;
+            this.children = children;
+            this.isEndOfWord = isEndOfWord;
+        }
+
+        private Node getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private State withChild(char c, Node child) {
+            int index = Arrays.binarySearch(keys, c);
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            return new State(newKeys, newChildren, isEndOfWord);
+        }
+
+        private State withoutChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (keys.length == 1) {
+                return isEndOfWord ? END_LEAF : EMPTY;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new State(newKeys, newChildren, isEndOfWord);
+        }
+
+        private State withEndOfWord(boolean end) {
+            if (keys.length == 0) {
+                return end ? END_LEAF : EMPTY;
+            }
+            return new State(keys, children, end);
+        }
+    }
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final State EMPTY = new State(NO_KEYS, NO_CHILDREN, false);
+    private static final State END_LEAF = new State(NO_KEYS, NO_CHILDREN, true);
+    // Метка удалённого узла: в него больше нельзя ничего добавить, его нужно отцепить от родителя
+    private static final State REMOVED = new State(NO_KEYS, NO_CHILDREN, false);
+
+    // Узел дерева: изменяемая только через CAS ссылка на текущее состояние
+    private static final class Node {
+        private static final AtomicReferenceFieldUpdater<Node, State> STATE =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, State.class, "state");
+
+        private volatile State state;
+
+        private Node(State state) {
+            this.state = state;
+        }
+
+        private boolean compareAndSet(State expected, State updated) {
+            return STATE.compareAndSet(this, expected, updated);
+        }
+    }
+
+    private final Node root;
+    private final LongAdder size;
+
+    public ConcurrentTrie() {
+        this.root = new Node(EMPTY);
+        this.size = new LongAdder();
+    }
+
+    /**
+     * Вставка слова в дерево
+     *
+     * @param word слово для вставки
+     */
+    public void insert(String word) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+
+        restart:
+        while (true) {
+            Node current = root;
+            int index = 0;
+            while (index < word.length()) {
+                State state = current.state;
+                if (state == REMOVED) {
+                    // Узел удалён параллельным remove — начинаем путь заново
+                    continue restart;
+                }
+
+                char c = word.charAt(index);
+                Node child = state.getChild(c);
+                if (child == null) {
+                    // Недостающий хвост слова собирается целиком и публикуется одним CAS
+                    if (current.compareAndSet(state, state.withChild(c, buildChain(word, index + 1)))) {
+                        size.increment();
+                        return;
+                    }
+                    continue;
+                }
+                if (child.state == REMOVED) {
+                    unlink(current, c, child);
+                    continue;
+                }
+
+                current = child;
+                index++;
+            }
+
+            while (true) {
+                State state = current.state;
+                if (state == REMOVED) {
+                    continue restart;
+                }
+                if (state.isEndOfWord) {
+                    return;
+                }
+                if (current.compareAndSet(state, state.withEndOfWord(true))) {
+                    size.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Построение ещё не опубликованной цепочки узлов для суффикса слова
+     */
+    private static Node buildChain(String word, int from) {
+        Node node = new Node(END_LEAF);
+        for (int i = word.length() - 1; i >= from; i--) {
+            node = new Node(new State(new char[] { word.charAt(i) }, new Node[] { node }, false));
+        }
+        return node;
+    }
+
+    /**
+     * Проверка наличия слова в дереве
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        State state = findState(word);
+        return state != null && state.isEndOfWord;
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        if (prefix.isEmpty()) {
+            // Корень существует всегда, как и в Trie
+            return true;
+        }
+
+        State state = findState(prefix);
+        return state != null && hasWord(state);
+    }
+
+    /**
+     * Получение всех слов по префиксу. Результат слабо согласован:
+     * параллельные изменения могут быть видны частично.
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        State state = findState(prefix);
+        if (state != null && state != REMOVED) {
+            collectWords(state, new StringBuilder(prefix), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Поиск состояния узла по строке без блокировок
+     *
+     * @param str строка для поиска
+     * @return состояние узла или null, если узел не найден
+     */
+    private State findState(String str) {
+        State state = root.state;
+        for (int i = 0; i < str.length(); i++) {
+            Node child = state.getChild(str.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            state = child.state;
+        }
+        return state;
+    }
+
+    /**
+     * Есть ли в поддереве хотя бы одно слово. Пока параллельный remove отцепляет
+     * опустевшие узлы, в дереве ненадолго остаются ветви без слов: они считаются
+     * отсутствующими, как и в {@link #getByPrefix}. Обход останавливается на первом слове.
+     */
+    private static boolean hasWord(State start) {
+        State[] states = new State[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        states[0] = start;
+
+        while (depth >= 0) {
+            State state = states[depth];
+            if (state.isEndOfWord) {
+                return true;
+            }
+            int index = nextChild[depth];
+            if (index == state.keys.length) {
+                depth--;
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            depth++;
+            if (depth == states.length) {
+                states = Arrays.copyOf(states, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            states[depth] = state.children[index].state;
+            nextChild[depth] = 0;
+        }
+        return false;
+    }
+
+    /**
+     * Обход поддерева с явным стеком по снимкам состояний узлов
+     */
+    private void collectWords(State start, StringBuilder buffer, List<String> result) {
+        State[] states = new State[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        states[0] = start;
+        if (start.isEndOfWord) {
+            result.add(buffer.toString());
+        }
+
+        while (depth >= 0) {
+            State state = states[depth];
+            int index = nextChild[depth];
+            if (index == state.keys.length) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            State child = state.children[index].state;
+            buffer.append(state.keys[index]);
+            if (child.isEndOfWord) {
+                result.add(buffer.toString());
+            }
+
+            depth++;
+            if (depth == states.length) {
+                states = Arrays.copyOf(states, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            states[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Удаление слова из дерева. Опустевшие узлы помечаются удалёнными
+     * и отцепляются от родителей снизу вверх.
+     *
+     * @param word слово для удаления
+     * @return true если слово было удалено, false если слово не найдено
+     */
+    public boolean remove(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        Node[] path = new Node[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].state.getChild(word.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+
+        Node target = path[word.length()];
+        while (true) {
+            State state = target.state;
+            if (!state.isEndOfWord) {
+                return false;
+            }
+            if (target.compareAndSet(state, state.withEndOfWord(false))) {
+                size.decrement();
+                break;
+            }
+        }
+
+        prune(path, word);
+        return true;
+    }
+
+    /**
+     * Снизу вверх помечает удалёнными узлы без слов и детей и отцепляет их от родителей.
+     * Узел, в который успела вставка, не удаляется: его состояние изменилось и CAS не пройдёт.
+     */
+    private void prune(Node[] path, String word) {
+        for (int depth = word.length(); depth > 0; depth--) {
+            Node node = path[depth];
+            while (true) {
+                State state = node.state;
+                if (state == REMOVED) {
+                    break;
+                }
+                if (state.isEndOfWord || state.keys.length > 0) {
+                    return;
+                }
+                if (node.compareAndSet(state, REMOVED)) {
+                    break;
+                }
+            }
+            unlink(path[depth - 1], word.charAt(depth - 1), node);
+        }
+    }
+
+    /**
+     * Отцепление удалённого узла от родителя, если родитель всё ещё на него ссылается
+     */
+    private static void unlink(Node parent, char c, Node removed) {
+        while (true) {
+            State state = parent.state;
+            if (state == REMOVED || state.getChild(c) != removed) {
+                return;
+            }
+            if (parent.compareAndSet(state, state.withoutChild(c))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Получение количества слов в дереве
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return size.intValue();
+    }
+
+    /**
+     * Проверка, пусто ли дерево
+     *
+     * @return true если дерево пустое, false в противном случае
+     */
+    public boolean isEmpty() {
+        return !hasWord(root.state);
+    }
+
+    @Override
+    public String toString() {
+        List<String> allWords = getByPrefix("");
+        return "ConcurrentTrie{words=" + allWords + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentTrie trie = new ConcurrentTrie();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Писатели и читатели работают с пересекающимися словами одновременно
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    String word = "word" + (i % 500);
+                    if (id % 2 == 0) {
+                        trie.insert(word);
+                    } else if (!trie.contains(word)) {
+                        trie.startsWith("wo");
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        System.out.println("Trie size: " + trie.size()); // 500
+        System.out.println("Words with prefix 'word49': " + trie.getByPrefix("word49"));
+    }
+}
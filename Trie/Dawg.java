@@ -0,0 +1,389 @@
+package Trie;
+
+import java.util.*;
+
+/**
+ * Минимальный ациклический автомат (DAWG) для неизменяемого словаря.
+ * В отличие от {@link Trie}, общие суффиксы слов («-tion», «-ing») хранятся один раз.
+ * Строится за один проход по отсортированным словам алгоритмом инкрементальной минимизации
+ * (Daciuk и др.): как только суффикс предыдущего слова больше не может измениться,
+ * его узлы заменяются эквивалентными уже зарегистрированными.
+ * Поддерживает тот же API чтения, что и {@link Trie}.
+ */
+public class Dawg {
+
+    // Узел автомата; после регистрации не изменяется и может разделяться несколькими родителями
+    private static final class DawgNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final DawgNode[] NO_CHILDREN = new DawgNode[0];
+
+        private char[] keys;
+        private DawgNode[] children;
+        private int childCount;
+        private boolean isEndOfWord;
+        // Количество слов, достижимых из узла; вычисляется при регистрации
+        private int wordCount;
+
+        public DawgNode() {
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.isEndOfWord = false;
+            this.wordCount = 0;
+        }
+
+        private DawgNode getChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Добавление ребра в конец: слова поступают по возрастанию,
+         * поэтому новая метка всегда больше существующих
+         */
+        private void appendChild(char c, DawgNode child) {
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            keys[childCount] = c;
+            children[childCount] = child;
+            childCount++;
+        }
+
+        private void freeze() {
+            if (childCount < keys.length) {
+                keys = Arrays.copyOf(keys, childCount);
+                children = Arrays.copyOf(children, childCount);
+            }
+            wordCount = isEndOfWord ? 1 : 0;
+            for (int i = 0; i < childCount; i++) {
+                wordCount += children[i].wordCount;
+            }
+        }
+
+        // Два узла эквивалентны, если совпадают флаг конца слова и рёбра в одни и те же узлы
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DawgNode)) {
+                return false;
+            }
+            DawgNode other = (DawgNode) o;
+            if (isEndOfWord != other.isEndOfWord || childCount != other.childCount) {
+                return false;
+            }
+            for (int i = 0; i < childCount; i++) {
+                if (keys[i] != other.keys[i] || children[i] != other.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = isEndOfWord ? 1 : 0;
+            for (int i = 0; i < childCount; i++) {
+                hash = 31 * hash + keys[i];
+                hash = 31 * hash + System.identityHashCode(children[i]);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Потоковый построитель автомата из слов в лексикографическом порядке
+     */
+    public static final class Builder {
+        private final DawgNode root;
+        // Реестр уже минимизированных узлов
+        private final Map<DawgNode, DawgNode> register;
+        // Путь последнего добавленного слова, ещё не прошедший минимизацию
+        private final List<DawgNode> uncheckedParents;
+        private final List<DawgNode> uncheckedChildren;
+        private String previousWord;
+        private boolean built;
+
+        public Builder() {
+            this.root = new DawgNode();
+            this.register = new HashMap<>();
+            this.uncheckedParents = new ArrayList<>();
+            this.uncheckedChildren = new ArrayList<>();
+            this.previousWord = "";
+            this.built = false;
+        }
+
+        /**
+         * Добавление очередного слова. Слова должны идти строго по возрастанию;
+         * повтор предыдущего слова игнорируется.
+         *
+         * @param word слово для добавления
+         * @return этот же построитель
+         */
+        public Builder add(String word) {
+            if (built) {
+                throw new IllegalStateException("Автомат уже построен");
+            }
+            if (word == null || word.isEmpty()) {
+                return this;
+            }
+
+            int order = word.compareTo(previousWord);
+            if (order < 0) {
+                throw new IllegalArgumentException("Слова должны поступать в отсортированном порядке: '"
+                        + word + "' после '" + previousWord + "'");
+            }
+            if (order == 0) {
+                return this;
+            }
+
+            int common = 0;
+            int max = Math.min(word.length(), previousWord.length());
+            while (common < max && word.charAt(common) == previousWord.charAt(common)) {
+                common++;
+            }
+
+            // Суффикс предыдущего слова после общего префикса больше не изменится
+            minimize(common);
+
+            DawgNode node = uncheckedChildren.isEmpty() ? root : uncheckedChildren.get(uncheckedChildren.size() - 1);
+            for (int i = common; i < word.length(); i++) {
+                DawgNode next = new DawgNode();
+                node.appendChild(word.charAt(i), next);
+                uncheckedParents.add(node);
+                uncheckedChildren.add(next);
+                node = next;
+            }
+            node.isEndOfWord = true;
+            previousWord = word;
+            return this;
+        }
+
+        /**
+         * Завершение построения: минимизация оставшегося пути
+         *
+         * @return готовый неизменяемый автомат
+         */
+        public Dawg build() {
+            if (built) {
+                throw new IllegalStateException("Автомат уже построен");
+            }
+            minimize(0);
+            root.freeze();
+            built = true;
+
+            int nodeCount = register.size() + 1;
+            register.clear();
+            return new Dawg(root, nodeCount);
+        }
+
+        /**
+         * Замена узлов непроверенного пути глубже downTo на эквивалентные из реестра
+         */
+        private void minimize(int downTo) {
+            for (int i = uncheckedChildren.size() - 1; i >= downTo; i--) {
+                DawgNode parent = uncheckedParents.get(i);
+                DawgNode child = uncheckedChildren.get(i);
+                child.freeze();
+
+                DawgNode existing = register.get(child);
+                if (existing != null) {
+                    // Ребро к ребёнку всегда последнее у родителя
+                    parent.children[parent.childCount - 1] = existing;
+                } else {
+                    register.put(child, child);
+                }
+
+                uncheckedParents.remove(i);
+                uncheckedChildren.remove(i);
+            }
+        }
+    }
+
+    private final DawgNode root;
+    private final int nodeCount;
+
+    private Dawg(DawgNode root, int nodeCount) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * Построение автомата из слов в лексикографическом порядке
+     *
+     * @param sortedWords отсортированные слова
+     * @return готовый автомат
+     */
+    public static Dawg fromSorted(Iterable<String> sortedWords) {
+        Builder builder = new Builder();
+        for (String word : sortedWords) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Проверка наличия слова в автомате
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        DawgNode node = findNode(word);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        return findNode(prefix) != null;
+    }
+
+    /**
+     * Получение всех слов по префиксу
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса, в лексикографическом порядке
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        DawgNode node = findNode(prefix);
+        if (node != null) {
+            collectWords(node, new StringBuilder(prefix), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Получение количества слов с данным префиксом за O(|prefix|)
+     *
+     * @param prefix префикс для подсчёта
+     * @return количество слов, начинающихся с данного префикса
+     */
+    public int countByPrefix(String prefix) {
+        if (prefix == null) {
+            return 0;
+        }
+
+        DawgNode node = findNode(prefix);
+        return node != null ? node.wordCount : 0;
+    }
+
+    private DawgNode findNode(String str) {
+        DawgNode current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    /**
+     * Обход всех путей из узла с явным стеком и общим буфером символов
+     */
+    private void collectWords(DawgNode start, StringBuilder buffer, List<String> result) {
+        DawgNode[] nodes = new DawgNode[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        nodes[0] = start;
+        if (start.isEndOfWord) {
+            result.add(buffer.toString());
+        }
+
+        while (depth >= 0) {
+            DawgNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            DawgNode child = node.children[index];
+            buffer.append(node.keys[index]);
+            if (child.isEndOfWord) {
+                result.add(buffer.toString());
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Получение количества слов в автомате
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return root.wordCount;
+    }
+
+    /**
+     * Получение количества узлов после минимизации
+     *
+     * @return количество узлов
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Проверка, пуст ли автомат
+     *
+     * @return true если автомат пуст, false в противном случае
+     */
+    public boolean isEmpty() {
+        return root.wordCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        List<String> allWords = getByPrefix("");
+        return "Dawg{words=" + allWords + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        Dawg dawg = new Dawg.Builder()
+                .add("acting")
+                .add("action")
+                .add("nation")
+                .add("rating")
+                .add("ration")
+                .build();
+
+        System.out.println("Contains 'nation': " + dawg.contains("nation")); // true
+        System.out.println("StartsWith 'ra': " + dawg.startsWith("ra")); // true
+        System.out.println("Words with prefix 'ra': " + dawg.getByPrefix("ra"));
+        System.out.println("Words: " + dawg.size() + ", nodes: " + dawg.nodeCount());
+    }
+}
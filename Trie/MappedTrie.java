@@ -0,0 +1,371 @@
+package Trie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Префиксное дерево только для чтения, работающее прямо поверх отображённого в память файла.
+ * Файл создаётся методом {@link #write(Trie, Path)} и открывается методом {@link #open(Path)}
+ * без десериализации: данные остаются вне кучи, а запуск не зависит от размера словаря.
+ *
+ * <p>Формат файла (big-endian):
+ * <pre>
+ * заголовок: int MAGIC, int VERSION, int смещение корня, int количество слов
+ * узел:      byte флаги, int слов в поддереве, int число детей n,
+ *            char[n] отсортированные метки, int[n] смещения детей
+ * </pre>
+ * Узлы записываются в обратном порядке обхода (дети раньше родителя),
+ * поэтому смещения детей известны к моменту записи родителя. Размер файла ограничен 2 ГБ.
+ */
+public class MappedTrie {
+
+    private static final int MAGIC = 0x54524945; // "TRIE"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private static final byte FLAG_END_OF_WORD = 1;
+    // Смещения полей внутри узла
+    private static final int WORD_COUNT_OFFSET = 1;
+    private static final int CHILD_COUNT_OFFSET = 5;
+    private static final int KEYS_OFFSET = 9;
+
+    private final ByteBuffer buffer;
+    private final int rootOffset;
+    private final int wordCount;
+
+    private MappedTrie(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Файл не является сериализованным префиксным деревом");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия формата: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.rootOffset = buffer.getInt(8);
+        this.wordCount = buffer.getInt(12);
+    }
+
+    /**
+     * Открытие файла дерева через отображение в память
+     *
+     * @param file путь к файлу, созданному {@link #write(Trie, Path)}
+     * @return дерево только для чтения
+     */
+    public static MappedTrie open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Отображение остаётся действительным и после закрытия канала
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedTrie(mapped);
+        }
+    }
+
+    /**
+     * Сериализация дерева в компактный двоичный файл
+     *
+     * @param trie дерево для записи
+     * @param file путь к файлу; существующий файл перезаписывается
+     */
+    public static void write(Trie trie, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            NodeWriter writer = new NodeWriter(channel);
+            int root = writer.writeTree(trie.getRoot());
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(root).putInt(trie.size()).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    // Потоковая запись узлов в обратном порядке обхода с явным стеком
+    private static final class NodeWriter {
+        private final FileChannel channel;
+        private ByteBuffer out;
+        private long position;
+
+        private NodeWriter(FileChannel channel) {
+            this.channel = channel;
+            this.out = ByteBuffer.allocate(1 << 16);
+            this.position = HEADER_SIZE;
+        }
+
+        private int writeTree(Trie.TrieNode root) throws IOException {
+            Trie.TrieNode[] nodes = new Trie.TrieNode[16];
+            int[][] childOffsets = new int[16][];
+            int[] nextChild = new int[16];
+            int depth = 0;
+            nodes[0] = root;
+            childOffsets[0] = new int[root.childCount];
+
+            while (true) {
+                Trie.TrieNode node = nodes[depth];
+                int index = nextChild[depth];
+                if (index < node.childCount) {
+                    nextChild[depth] = index + 1;
+                    depth++;
+                    if (depth == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, depth * 2);
+                        childOffsets = Arrays.copyOf(childOffsets, depth * 2);
+                        nextChild = Arrays.copyOf(nextChild, depth * 2);
+                    }
+                    Trie.TrieNode child = node.children[index];
+                    nodes[depth] = child;
+                    childOffsets[depth] = new int[child.childCount];
+                    nextChild[depth] = 0;
+                    continue;
+                }
+
+                // Все дети записаны — пишем сам узел
+                int offset = writeNode(node, childOffsets[depth]);
+                nodes[depth] = null;
+                childOffsets[depth] = null;
+                if (depth == 0) {
+                    return offset;
+                }
+                depth--;
+                childOffsets[depth][nextChild[depth] - 1] = offset;
+            }
+        }
+
+        private int writeNode(Trie.TrieNode node, int[] childOffsets) throws IOException {
+            int size = KEYS_OFFSET + node.childCount * (Character.BYTES + Integer.BYTES);
+            if (position + size > Integer.MAX_VALUE) {
+                throw new IOException("Дерево не помещается в файл размером 2 ГБ");
+            }
+            if (out.remaining() < size) {
+                flush();
+                if (out.capacity() < size) {
+                    out = ByteBuffer.allocate(size);
+                }
+            }
+
+            int offset = (int) position;
+            out.put(node.isEndOfWord ? FLAG_END_OF_WORD : 0);
+            out.putInt(node.wordCount);
+            out.putInt(node.childCount);
+            for (int i = 0; i < node.childCount; i++) {
+                out.putChar(node.keys[i]);
+            }
+            for (int i = 0; i < node.childCount; i++) {
+                out.putInt(childOffsets[i]);
+            }
+            position += size;
+            return offset;
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            long writeAt = position - out.remaining();
+            while (out.hasRemaining()) {
+                writeAt += channel.write(out, writeAt);
+            }
+            out.clear();
+        }
+    }
+
+    /**
+     * Проверка наличия слова в дереве
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        int node = findNode(word);
+        return node >= 0 && isEndOfWord(node);
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        return findNode(prefix) >= 0;
+    }
+
+    /**
+     * Получение всех слов по префиксу
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса, в лексикографическом порядке
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        int node = findNode(prefix);
+        if (node >= 0) {
+            collectWords(node, new StringBuilder(prefix), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Получение количества слов с данным префиксом
+     *
+     * @param prefix префикс для подсчёта
+     * @return количество слов, начинающихся с данного префикса
+     */
+    public int countByPrefix(String prefix) {
+        if (prefix == null) {
+            return 0;
+        }
+
+        int node = findNode(prefix);
+        return node >= 0 ? buffer.getInt(node + WORD_COUNT_OFFSET) : 0;
+    }
+
+    /**
+     * Поиск смещения узла по строке
+     *
+     * @param str строка для поиска
+     * @return смещение узла или -1, если узел не найден
+     */
+    private int findNode(String str) {
+        int node = rootOffset;
+        for (int i = 0; i < str.length() && node >= 0; i++) {
+            node = getChild(node, str.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Бинарный поиск ребра среди отсортированных меток узла
+     */
+    private int getChild(int node, char c) {
+        int count = childCount(node);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char key = buffer.getChar(node + KEYS_OFFSET + mid * Character.BYTES);
+            if (key < c) {
+                low = mid + 1;
+            } else if (key > c) {
+                high = mid - 1;
+            } else {
+                return childOffset(node, count, mid);
+            }
+        }
+        return -1;
+    }
+
+    private int childCount(int node) {
+        return buffer.getInt(node + CHILD_COUNT_OFFSET);
+    }
+
+    private char key(int node, int index) {
+        return buffer.getChar(node + KEYS_OFFSET + index * Character.BYTES);
+    }
+
+    private int childOffset(int node, int count, int index) {
+        return buffer.getInt(node + KEYS_OFFSET + count * Character.BYTES + index * Integer.BYTES);
+    }
+
+    private boolean isEndOfWord(int node) {
+        return (buffer.get(node) & FLAG_END_OF_WORD) != 0;
+    }
+
+    /**
+     * Обход поддерева с явным стеком и общим буфером символов
+     */
+    private void collectWords(int start, StringBuilder prefix, List<String> result) {
+        int[] nodes = new int[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        nodes[0] = start;
+        if (isEndOfWord(start)) {
+            result.add(prefix.toString());
+        }
+
+        while (depth >= 0) {
+            int node = nodes[depth];
+            int count = childCount(node);
+            int index = nextChild[depth];
+            if (index == count) {
+                depth--;
+                if (depth >= 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            int child = childOffset(node, count, index);
+            prefix.append(key(node, index));
+            if (isEndOfWord(child)) {
+                result.add(prefix.toString());
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Получение количества слов в дереве
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Проверка, пусто ли дерево
+     *
+     * @return true если дерево пустое, false в противном случае
+     */
+    public boolean isEmpty() {
+        return wordCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedTrie{size=" + wordCount + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) throws IOException {
+        Trie trie = new Trie();
+        trie.insert("apple");
+        trie.insert("app");
+        trie.insert("application");
+        trie.insert("banana");
+
+        Path file = Files.createTempFile("trie", ".bin");
+        MappedTrie.write(trie, file);
+
+        MappedTrie mapped = MappedTrie.open(file);
+        System.out.println("Contains 'apple': " + mapped.contains("apple")); // true
+        System.out.println("StartsWith 'ban': " + mapped.startsWith("ban")); // true
+        System.out.println("Words with prefix 'app': " + mapped.getByPrefix("app"));
+        System.out.println("Trie size: " + mapped.size());
+    }
+}
@@ -0,0 +1,380 @@
+package Trie;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Неизменяемое (персистентное) префиксное дерево.
+ * {@link #insert} и {@link #remove} не меняют текущую версию, а возвращают новую:
+ * копируются только узлы на пути к слову, остальные поддеревья разделяются между версиями.
+ * Любая версия — согласованный снимок, который можно читать из любых потоков без блокировок,
+ * а новую версию писатель публикует одной записью ссылки (например, в {@link AtomicReference}).
+ */
+public final class PersistentTrie {
+
+    // Неизменяемый узел: отсортированные метки, дети, флаг конца слова и число слов в поддереве
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final char[] keys;
+        private final Node[] children;
+        private final boolean isEndOfWord;
+        private final int wordCount;
+
+        private Node(char[] keys, Node[] children, boolean isEndOfWord, int wordCount) {
+            this.keys = keys;
+            this.children = children;
+            this.isEndOfWord = isEndOfWord;
+            this.wordCount = wordCount;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, c);
+        }
+
+        private Node getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node withEndOfWord(boolean end) {
+            return new Node(keys, children, end, wordCount + (end ? 1 : -1));
+        }
+
+        /**
+         * Копия узла, в которой ребро c ведёт в child; ребро добавляется, если его не было
+         */
+        private Node withChild(char c, Node child, int countDelta) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                Node[] newChildren = children.clone();
+                newChildren[index] = child;
+                return new Node(keys, newChildren, isEndOfWord, wordCount + countDelta);
+            }
+
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            return new Node(newKeys, newChildren, isEndOfWord, wordCount + countDelta);
+        }
+
+        private Node withoutChild(char c, int countDelta) {
+            int index = indexOf(c);
+            if (keys.length == 1) {
+                return new Node(NO_KEYS, NO_CHILDREN, isEndOfWord, wordCount + countDelta);
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            return new Node(newKeys, newChildren, isEndOfWord, wordCount + countDelta);
+        }
+    }
+
+    private static final PersistentTrie EMPTY =
+            new PersistentTrie(new Node(Node.NO_KEYS, Node.NO_CHILDREN, false, 0));
+
+    private final Node root;
+
+    private PersistentTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Пустое дерево
+     *
+     * @return пустая версия
+     */
+    public static PersistentTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Снимок изменяемого дерева. Структура копируется за один проход
+     * без повторной вставки слов.
+     *
+     * @param trie исходное дерево
+     * @return неизменяемая копия
+     */
+    public static PersistentTrie copyOf(Trie trie) {
+        // Обратный порядок обхода с явным стеком: дети копируются раньше родителя
+        Trie.TrieNode[] nodes = new Trie.TrieNode[16];
+        Node[][] copies = new Node[16][];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        nodes[0] = trie.getRoot();
+        copies[0] = new Node[nodes[0].childCount];
+
+        while (true) {
+            Trie.TrieNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index < node.childCount) {
+                nextChild[depth] = index + 1;
+                depth++;
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    copies = Arrays.copyOf(copies, depth * 2);
+                    nextChild = Arrays.copyOf(nextChild, depth * 2);
+                }
+                Trie.TrieNode child = node.children[index];
+                nodes[depth] = child;
+                copies[depth] = new Node[child.childCount];
+                nextChild[depth] = 0;
+                continue;
+            }
+
+            char[] keys = node.childCount == 0 ? Node.NO_KEYS : Arrays.copyOf(node.keys, node.childCount);
+            Node[] children = node.childCount == 0 ? Node.NO_CHILDREN : copies[depth];
+            Node copy = new Node(keys, children, node.isEndOfWord, node.wordCount);
+            nodes[depth] = null;
+            copies[depth] = null;
+            if (depth == 0) {
+                return new PersistentTrie(copy);
+            }
+            depth--;
+            copies[depth][nextChild[depth] - 1] = copy;
+        }
+    }
+
+    /**
+     * Вставка слова
+     *
+     * @param word слово для вставки
+     * @return новая версия со словом (или эта же, если слово уже есть)
+     */
+    public PersistentTrie insert(String word) {
+        if (word == null || word.isEmpty() || contains(word)) {
+            return this;
+        }
+
+        int length = word.length();
+        Node[] path = new Node[length + 1];
+        path[0] = root;
+        int depth = 0;
+        while (depth < length) {
+            Node child = path[depth].getChild(word.charAt(depth));
+            if (child == null) {
+                break;
+            }
+            path[++depth] = child;
+        }
+
+        // Новый узел на глубине depth: либо помеченный концом слова, либо с новым хвостом
+        Node replacement;
+        if (depth == length) {
+            replacement = path[length].withEndOfWord(true);
+        } else {
+            Node tail = new Node(Node.NO_KEYS, Node.NO_CHILDREN, true, 1);
+            for (int i = length - 1; i > depth; i--) {
+                tail = new Node(new char[] { word.charAt(i) }, new Node[] { tail }, false, 1);
+            }
+            replacement = path[depth].withChild(word.charAt(depth), tail, 1);
+        }
+
+        // Копируем путь до корня
+        for (int i = depth - 1; i >= 0; i--) {
+            replacement = path[i].withChild(word.charAt(i), replacement, 1);
+        }
+        return new PersistentTrie(replacement);
+    }
+
+    /**
+     * Удаление слова
+     *
+     * @param word слово для удаления
+     * @return новая версия без слова (или эта же, если слова не было)
+     */
+    public PersistentTrie remove(String word) {
+        if (word == null || word.isEmpty()) {
+            return this;
+        }
+
+        int length = word.length();
+        Node[] path = new Node[length + 1];
+        path[0] = root;
+        for (int i = 0; i < length; i++) {
+            path[i + 1] = path[i].getChild(word.charAt(i));
+            if (path[i + 1] == null) {
+                return this;
+            }
+        }
+        if (!path[length].isEndOfWord) {
+            return this;
+        }
+
+        // null означает, что узел опустел и ребро к нему нужно удалить
+        Node replacement = path[length].wordCount == 1 ? null : path[length].withEndOfWord(false);
+        for (int i = length - 1; i >= 0; i--) {
+            Node parent = path[i];
+            if (replacement != null) {
+                replacement = parent.withChild(word.charAt(i), replacement, -1);
+            } else if (i > 0 && parent.wordCount == 1) {
+                replacement = null;
+            } else {
+                replacement = parent.withoutChild(word.charAt(i), -1);
+            }
+        }
+        return replacement.wordCount == 0 ? EMPTY : new PersistentTrie(replacement);
+    }
+
+    /**
+     * Проверка наличия слова в дереве
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        Node node = findNode(word);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        return findNode(prefix) != null;
+    }
+
+    /**
+     * Получение всех слов по префиксу
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса, в лексикографическом порядке
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        Node node = findNode(prefix);
+        if (node != null) {
+            collectWords(node, new StringBuilder(prefix), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Получение количества слов с данным префиксом за O(|prefix|)
+     *
+     * @param prefix префикс для подсчёта
+     * @return количество слов, начинающихся с данного префикса
+     */
+    public int countByPrefix(String prefix) {
+        if (prefix == null) {
+            return 0;
+        }
+
+        Node node = findNode(prefix);
+        return node != null ? node.wordCount : 0;
+    }
+
+    private Node findNode(String str) {
+        Node current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    /**
+     * Обход поддерева с явным стеком и общим буфером символов
+     */
+    private void collectWords(Node start, StringBuilder buffer, List<String> result) {
+        Node[] nodes = new Node[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        nodes[0] = start;
+        if (start.isEndOfWord) {
+            result.add(buffer.toString());
+        }
+
+        while (depth >= 0) {
+            Node node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.keys.length) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            Node child = node.children[index];
+            buffer.append(node.keys[index]);
+            if (child.isEndOfWord) {
+                result.add(buffer.toString());
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Получение количества слов в дереве за O(1)
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return root.wordCount;
+    }
+
+    /**
+     * Проверка, пусто ли дерево
+     *
+     * @return true если дерево пустое, false в противном случае
+     */
+    public boolean isEmpty() {
+        return root.wordCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        List<String> allWords = getByPrefix("");
+        return "PersistentTrie{words=" + allWords + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        AtomicReference<PersistentTrie> current = new AtomicReference<>(PersistentTrie.empty());
+
+        current.set(current.get().insert("apple").insert("app").insert("banana"));
+
+        // Читатель держит снимок, пока писатель публикует новую версию
+        PersistentTrie snapshot = current.get();
+        current.set(snapshot.remove("app").insert("band"));
+
+        System.out.println("Snapshot: " + snapshot); // [app, apple, banana]
+        System.out.println("Current: " + current.get()); // [apple, banana, band]
+        System.out.println("Snapshot contains 'app': " + snapshot.contains("app")); // true
+        System.out.println("Current contains 'app': " + current.get().contains("app")); // false
+    }
+}
@@ -0,0 +1,377 @@
+package Trie;
+
+import java.util.*;
+
+/**
+ * Сжатое префиксное дерево (Radix / Patricia).
+ * Цепочки узлов с единственным потомком хранятся как одно ребро с меткой-строкой,
+ * поэтому длинные ключи без ветвлений занимают один узел, а не один узел на символ.
+ * API совпадает с {@link Trie}.
+ */
+public class RadixTrie {
+
+    // Узел сжатого дерева: метка входящего ребра и дети, упорядоченные по первому символу метки
+    private static class RadixNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final RadixNode[] NO_CHILDREN = new RadixNode[0];
+
+        private String label;
+        private char[] keys;
+        private RadixNode[] children;
+        private int childCount;
+        private boolean isEndOfWord;
+
+        public RadixNode(String label, boolean isEndOfWord) {
+            this.label = label;
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.isEndOfWord = isEndOfWord;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        private RadixNode getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(RadixNode child) {
+            char c = child.label.charAt(0);
+            int index = indexOf(c);
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+        }
+
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+    }
+
+    private final RadixNode root;
+
+    public RadixTrie() {
+        this.root = new RadixNode("", false);
+    }
+
+    /**
+     * Вставка слова в дерево. При расхождении с меткой существующего ребра
+     * ребро разбивается на общий префикс и два хвоста.
+     *
+     * @param word слово для вставки
+     */
+    public void insert(String word) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+
+        RadixNode current = root;
+        int index = 0;
+        while (index < word.length()) {
+            RadixNode child = current.getChild(word.charAt(index));
+            if (child == null) {
+                current.addChild(new RadixNode(word.substring(index), true));
+                return;
+            }
+
+            int common = commonPrefixLength(child.label, word, index);
+            if (common == child.label.length()) {
+                current = child;
+                index += common;
+                continue;
+            }
+
+            // Разбиваем ребро: общий префикс становится новым промежуточным узлом
+            RadixNode middle = new RadixNode(child.label.substring(0, common), false);
+            child.label = child.label.substring(common);
+            middle.addChild(child);
+            current.addChild(middle);
+
+            index += common;
+            if (index == word.length()) {
+                middle.isEndOfWord = true;
+            } else {
+                middle.addChild(new RadixNode(word.substring(index), true));
+            }
+            return;
+        }
+        current.isEndOfWord = true;
+    }
+
+    /**
+     * Проверка наличия слова в дереве
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        RadixNode current = root;
+        int index = 0;
+        while (index < word.length()) {
+            RadixNode child = current.getChild(word.charAt(index));
+            if (child == null || !word.startsWith(child.label, index)) {
+                return false;
+            }
+            current = child;
+            index += child.label.length();
+        }
+        return current.isEndOfWord;
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        return findEdge(prefix) != null;
+    }
+
+    /**
+     * Получение всех слов по префиксу
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        RadixNode current = root;
+        int index = 0;
+        while (index < prefix.length()) {
+            RadixNode child = current.getChild(prefix.charAt(index));
+            if (child == null) {
+                return result;
+            }
+
+            int common = commonPrefixLength(child.label, prefix, index);
+            if (index + common == prefix.length()) {
+                // Префикс закончился на ребре — дописываем остаток метки
+                StringBuilder buffer = new StringBuilder(prefix);
+                buffer.append(child.label, common, child.label.length());
+                collectWords(child, buffer, result);
+                return result;
+            }
+            if (common < child.label.length()) {
+                return result;
+            }
+            current = child;
+            index += common;
+        }
+
+        collectWords(current, new StringBuilder(prefix), result);
+        return result;
+    }
+
+    /**
+     * Поиск узла, на входящем ребре которого (или в котором) заканчивается строка
+     *
+     * @param str строка для поиска
+     * @return такой узел или null, если строка не является префиксом ни одного ребра
+     */
+    private RadixNode findEdge(String str) {
+        RadixNode current = root;
+        int index = 0;
+        while (index < str.length()) {
+            RadixNode child = current.getChild(str.charAt(index));
+            if (child == null) {
+                return null;
+            }
+
+            int common = commonPrefixLength(child.label, str, index);
+            if (index + common == str.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            current = child;
+            index += common;
+        }
+        return current;
+    }
+
+    /**
+     * Рекурсивный сбор всех слов из поддерева в общий буфер
+     *
+     * @param node   текущий узел
+     * @param buffer текущий префикс, включая метку узла
+     * @param result список для сохранения результатов
+     */
+    private void collectWords(RadixNode node, StringBuilder buffer, List<String> result) {
+        if (node.isEndOfWord) {
+            result.add(buffer.toString());
+        }
+
+        for (int i = 0; i < node.childCount; i++) {
+            RadixNode child = node.children[i];
+            int length = buffer.length();
+            buffer.append(child.label);
+            collectWords(child, buffer, result);
+            buffer.setLength(length);
+        }
+    }
+
+    /**
+     * Удаление слова из дерева. Опустевшие узлы удаляются, а узел без слова
+     * с единственным потомком сливается с ним в одно ребро.
+     *
+     * @param word слово для удаления
+     * @return true если слово было удалено, false если слово не найдено
+     */
+    public boolean remove(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        RadixNode parent = null;
+        RadixNode current = root;
+        int index = 0;
+        while (index < word.length()) {
+            RadixNode child = current.getChild(word.charAt(index));
+            if (child == null || !word.startsWith(child.label, index)) {
+                return false;
+            }
+            parent = current;
+            current = child;
+            index += child.label.length();
+        }
+        if (!current.isEndOfWord) {
+            return false;
+        }
+
+        current.isEndOfWord = false;
+        if (current.childCount == 0) {
+            parent.removeChild(current.label.charAt(0));
+            if (parent != root) {
+                mergeWithSingleChild(parent);
+            }
+        } else {
+            mergeWithSingleChild(current);
+        }
+        return true;
+    }
+
+    /**
+     * Слияние узла без слова с его единственным потомком
+     */
+    private void mergeWithSingleChild(RadixNode node) {
+        if (node.isEndOfWord || node.childCount != 1) {
+            return;
+        }
+
+        RadixNode child = node.children[0];
+        node.label = node.label + child.label;
+        node.keys = child.keys;
+        node.children = child.children;
+        node.childCount = child.childCount;
+        node.isEndOfWord = child.isEndOfWord;
+    }
+
+    private static int commonPrefixLength(String label, String str, int from) {
+        int max = Math.min(label.length(), str.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(i) == str.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Получение количества слов в дереве
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return countWords(root);
+    }
+
+    private int countWords(RadixNode node) {
+        int count = 0;
+        if (node.isEndOfWord) {
+            count++;
+        }
+
+        for (int i = 0; i < node.childCount; i++) {
+            count += countWords(node.children[i]);
+        }
+
+        return count;
+    }
+
+    /**
+     * Проверка, пусто ли дерево
+     *
+     * @return true если дерево пустое, false в противном случае
+     */
+    public boolean isEmpty() {
+        return root.childCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        List<String> allWords = getByPrefix("");
+        return "RadixTrie{words=" + allWords + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        RadixTrie trie = new RadixTrie();
+
+        trie.insert("https://example.com/api/users");
+        trie.insert("https://example.com/api/orders");
+        trie.insert("https://example.com/about");
+        trie.insert("https://example.org");
+
+        System.out.println("Contains 'https://example.com/about': " + trie.contains("https://example.com/about")); // true
+        System.out.println("Contains 'https://example.com': " + trie.contains("https://example.com")); // false
+        System.out.println("StartsWith 'https://example.com/a': " + trie.startsWith("https://example.com/a")); // true
+        System.out.println("Words with prefix 'https://example.com/api': "
+                + trie.getByPrefix("https://example.com/api"));
+
+        System.out.println("Remove 'https://example.com/about': " + trie.remove("https://example.com/about"));
+        System.out.println("Trie size: " + trie.size());
+        System.out.println(trie);
+    }
+}
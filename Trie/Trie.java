@@ -1,26 +1,102 @@
 package Trie;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class Trie {
+public class Trie implements Iterable<String> {
 
-    // Узел префиксного дерева
-    private static class TrieNode {
-        private Map<Character, TrieNode> children;
-        private boolean isEndOfWord;
+    // Узел префиксного дерева.
+    // Вместо HashMap<Character, TrieNode> дети хранятся в двух параллельных массивах:
+    // отсортированные метки рёбер и ссылки на узлы. Поиск ребра — бинарный поиск по меткам,
+    // символы не упаковываются в Character, а листья разделяют общие пустые массивы.
+    // Узел доступен в пакете для сериализации и обходов; изменять его может только Trie.
+    static final class TrieNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+
+        char[] keys;
+        TrieNode[] children;
+        int childCount;
+        // Количество слов в поддереве, включая слово, оканчивающееся в самом узле
+        int wordCount;
+        boolean isEndOfWord;
 
         public TrieNode() {
-            this.children = new HashMap<>();
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.wordCount = 0;
             this.isEndOfWord = false;
         }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        TrieNode getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private TrieNode getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                // Маленькие узлы растут по одному элементу, большие — в полтора раза
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            TrieNode child = new TrieNode();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
     }
 
     private final TrieNode root;
+    // Счётчик структурных изменений для обнаружения модификации во время обхода
+    private int modCount;
 
     public Trie() {
         this.root = new TrieNode();
     }
 
+    // Корень дерева для обходов внутри пакета
+    TrieNode getRoot() {
+        return root;
+    }
+
     /**
      * Вставка слова в префиксное дерево
      * 
@@ -31,12 +107,139 @@ public class Trie {
             return;
         }
 
-        TrieNode current = root;
-        for (char c : word.toCharArray()) {
-            current.children.putIfAbsent(c, new TrieNode());
-            current = current.children.get(c);
+        if (insertFrom(root, word, 0)) {
+            root.wordCount++;
+            modCount++;
+        }
+    }
+
+    /**
+     * Вставка хвоста word[from..] в поддерево start. Счётчики узлов ниже start
+     * обновляются здесь, счётчик самого start — на стороне вызывающего.
+     * 
+     * @return true если слово добавлено, false если оно уже было
+     */
+    private static boolean insertFrom(TrieNode start, String word, int from) {
+        // Счётчики увеличиваются при спуске; для редкой повторной вставки они откатываются вторым проходом
+        TrieNode current = start;
+        for (int i = from; i < word.length(); i++) {
+            current = current.getOrAddChild(word.charAt(i));
+            current.wordCount++;
+        }
+        if (!current.isEndOfWord) {
+            current.isEndOfWord = true;
+            return true;
+        }
+
+        TrieNode node = start;
+        for (int i = from; i < word.length(); i++) {
+            node = node.getChild(word.charAt(i));
+            node.wordCount--;
+        }
+        return false;
+    }
+
+    /**
+     * Параллельная загрузка набора слов через общий пул ForkJoin
+     * 
+     * @param words слова для вставки; null и пустые строки пропускаются
+     */
+    public void bulkInsert(Collection<String> words) {
+        bulkInsert(words, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная загрузка потока слов через общий пул ForkJoin
+     * 
+     * @param words поток слов для вставки; null и пустые строки пропускаются
+     */
+    public void bulkInsert(Stream<String> words) {
+        bulkInsert(words.collect(Collectors.toList()), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная загрузка набора слов. Слова разбиваются на группы по очередному
+     * символу, и каждая группа строит своё поддерево в отдельной задаче. Поддеревья
+     * разных групп не пересекаются, поэтому задачи не синхронизируются между собой,
+     * а крупные группы (например, общий префикс у URL) делятся дальше по следующему символу.
+     * Во время загрузки дерево нельзя читать и изменять из других потоков.
+     * 
+     * @param words слова для вставки; null и пустые строки пропускаются
+     * @param pool  пул, в котором выполняются задачи
+     */
+    public void bulkInsert(Collection<String> words, ForkJoinPool pool) {
+        List<String> batch = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                batch.add(word);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        int added = pool.invoke(new BulkInsertTask(root, batch, 0));
+        if (added > 0) {
+            modCount++;
+        }
+    }
+
+    /**
+     * Вставка группы слов с общим префиксом длины depth в поддерево node.
+     * Возвращает число добавленных слов и сам учитывает их в node.wordCount.
+     */
+    private static final class BulkInsertTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        // Группы меньше порога вставляются последовательно
+        private static final int SPLIT_THRESHOLD = 4096;
+
+        private final TrieNode node;
+        private final List<String> words;
+        private final int depth;
+
+        private BulkInsertTask(TrieNode node, List<String> words, int depth) {
+            this.node = node;
+            this.words = words;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            int added = 0;
+            if (words.size() <= SPLIT_THRESHOLD) {
+                for (String word : words) {
+                    if (insertFrom(node, word, depth)) {
+                        added++;
+                    }
+                }
+                node.wordCount += added;
+                return added;
+            }
+
+            // Дети создаются здесь, до запуска подзадач: массивы узла меняет только один поток
+            Map<Character, List<String>> groups = new TreeMap<>();
+            for (String word : words) {
+                if (word.length() == depth) {
+                    if (!node.isEndOfWord) {
+                        node.isEndOfWord = true;
+                        added++;
+                    }
+                } else {
+                    groups.computeIfAbsent(word.charAt(depth), c -> new ArrayList<>()).add(word);
+                }
+            }
+
+            List<BulkInsertTask> tasks = new ArrayList<>(groups.size());
+            for (Map.Entry<Character, List<String>> group : groups.entrySet()) {
+                tasks.add(new BulkInsertTask(node.getOrAddChild(group.getKey()), group.getValue(), depth + 1));
+            }
+            invokeAll(tasks);
+            for (BulkInsertTask task : tasks) {
+                added += task.join();
+            }
+            node.wordCount += added;
+            return added;
         }
-        current.isEndOfWord = true;
     }
 
     /**
@@ -76,16 +279,85 @@ public class Trie {
      */
     public List<String> getByPrefix(String prefix) {
         List<String> result = new ArrayList<>();
+        Iterator<String> iterator = prefixIterator(prefix, Integer.MAX_VALUE);
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Ленивый обход слов по префиксу. Слова выдаются в лексикографическом порядке
+     * по мере запроса, обход прекращается после limit слов.
+     * 
+     * @param prefix префикс для поиска
+     * @param limit  максимальное количество слов
+     * @return итератор по словам, начинающимся с данного префикса
+     */
+    public Iterator<String> prefixIterator(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Лимит не может быть отрицательным");
+        }
         if (prefix == null) {
-            return result;
+            return Collections.emptyIterator();
         }
 
         TrieNode node = findNode(prefix);
-        if (node != null) {
-            collectWords(node, prefix, result);
+        if (node == null) {
+            return Collections.emptyIterator();
         }
+        return new PrefixIterator(node, prefix, limit);
+    }
 
-        return result;
+    /**
+     * Ленивый поток слов по префиксу с ограничением количества
+     * 
+     * @param prefix префикс для поиска
+     * @param limit  максимальное количество слов
+     * @return поток слов, начинающихся с данного префикса
+     */
+    public Stream<String> streamByPrefix(String prefix, int limit) {
+        Spliterator<String> spliterator = Spliterators.spliteratorUnknownSize(
+                prefixIterator(prefix, limit),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Длина самого длинного слова дерева, являющегося префиксом участка input[from, to).
+     * Работает без выделения памяти и без копирования входа, поэтому подходит
+     * для горячих путей вроде таблиц маршрутизации.
+     * 
+     * @param input входная последовательность символов
+     * @param from  начало участка (включительно)
+     * @param to    конец участка (не включительно)
+     * @return длина найденного слова или -1, если ни одно слово не является префиксом
+     */
+    public int longestPrefixOf(CharSequence input, int from, int to) {
+        Objects.checkFromToIndex(from, to, input.length());
+
+        int longest = -1;
+        TrieNode current = root;
+        for (int i = from; i < to; i++) {
+            current = current.getChild(input.charAt(i));
+            if (current == null) {
+                break;
+            }
+            if (current.isEndOfWord) {
+                longest = i + 1 - from;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Длина самого длинного слова дерева, являющегося префиксом input
+     * 
+     * @param input входная последовательность символов
+     * @return длина найденного слова или -1, если ни одно слово не является префиксом
+     */
+    public int longestPrefixOf(CharSequence input) {
+        return longestPrefixOf(input, 0, input.length());
     }
 
     /**
@@ -96,29 +368,648 @@ public class Trie {
      */
     private TrieNode findNode(String str) {
         TrieNode current = root;
-        for (char c : str.toCharArray()) {
-            if (!current.children.containsKey(c)) {
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    /**
+     * Обход всех слов в лексикографическом порядке
+     * 
+     * @return итератор по словам дерева
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return prefixIterator("", Integer.MAX_VALUE);
+    }
+
+    /**
+     * Разделяемый обход всех слов дерева. Размеры частей известны точно
+     * благодаря счётчикам слов в узлах, поэтому параллельные потоки делят работу поровну.
+     * 
+     * @return сплитератор по словам в лексикографическом порядке
+     */
+    @Override
+    public Spliterator<String> spliterator() {
+        return new WordSpliterator(root, "", 0, root.childCount, root.isEndOfWord);
+    }
+
+    /**
+     * Последовательный поток всех слов дерева
+     * 
+     * @return поток слов в лексикографическом порядке
+     */
+    public Stream<String> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Параллельный поток всех слов дерева
+     * 
+     * @return параллельный поток слов; порядок сохраняется для упорядоченных операций
+     */
+    public Stream<String> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Наименьшее слово, большее или равное key
+     * 
+     * @param key ключ для поиска
+     * @return найденное слово или null, если такого нет
+     */
+    public String ceiling(String key) {
+        return firstFrom(key, true);
+    }
+
+    /**
+     * Наименьшее слово, строго большее key
+     * 
+     * @param key ключ для поиска
+     * @return найденное слово или null, если такого нет
+     */
+    public String higher(String key) {
+        return firstFrom(key, false);
+    }
+
+    private String firstFrom(String key, boolean inclusive) {
+        if (key == null) {
+            return null;
+        }
+
+        Iterator<String> iterator = new PrefixIterator(key, inclusive, 1);
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Наибольшее слово, меньшее или равное key. Кандидатом на каждом уровне пути key
+     * служит сам узел (его слово — префикс key) или самое правое слово в ветви с меньшим символом;
+     * чем глубже кандидат, тем он ближе к key.
+     * 
+     * @param key ключ для поиска
+     * @return найденное слово или null, если такого нет
+     */
+    public String floor(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        // Кандидат: узел на пути key и индекс его ребра с меньшим символом (-1 — слово самого узла)
+        TrieNode candidate = null;
+        int candidateDepth = -1;
+        int candidateIndex = -1;
+        TrieNode node = root;
+        int depth = 0;
+        while (true) {
+            if (node.isEndOfWord) {
+                candidate = node;
+                candidateDepth = depth;
+                candidateIndex = -1;
+            }
+            if (depth == key.length()) {
+                break;
+            }
+
+            int index = node.indexOf(key.charAt(depth));
+            int lowerIndex = index >= 0 ? index - 1 : -index - 2;
+            if (lowerIndex >= 0) {
+                // Любое слово в ветви с меньшим символом больше слова в самом узле
+                candidate = node;
+                candidateDepth = depth;
+                candidateIndex = lowerIndex;
+            }
+            if (index < 0) {
+                break;
+            }
+            node = node.children[index];
+            depth++;
+        }
+
+        if (candidate == null) {
+            return null;
+        }
+        StringBuilder buffer = new StringBuilder(key.length() + 16);
+        buffer.append(key, 0, candidateDepth);
+        if (candidateIndex < 0) {
+            return buffer.toString();
+        }
+
+        // Спускаемся по самым правым рёбрам: лист всегда завершает слово
+        buffer.append(candidate.keys[candidateIndex]);
+        TrieNode current = candidate.children[candidateIndex];
+        while (current.childCount > 0) {
+            buffer.append(current.keys[current.childCount - 1]);
+            current = current.children[current.childCount - 1];
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Слова из полуинтервала [from, to) в лексикографическом порядке
+     * 
+     * @param from нижняя граница (включительно)
+     * @param to   верхняя граница (не включительно)
+     * @return список слов диапазона
+     */
+    public List<String> subRange(String from, String to) {
+        List<String> result = new ArrayList<>();
+        if (from == null || to == null || from.compareTo(to) >= 0) {
+            return result;
+        }
+
+        Iterator<String> iterator = new PrefixIterator(from, true, Integer.MAX_VALUE);
+        while (iterator.hasNext()) {
+            String word = iterator.next();
+            if (word.compareTo(to) >= 0) {
+                break;
+            }
+            result.add(word);
+        }
+        return result;
+    }
+
+    /**
+     * Следующие count слов после key — страница отсортированного словаря
+     * 
+     * @param key   последнее слово предыдущей страницы (сам ключ не включается)
+     * @param count размер страницы
+     * @return до count слов, строго больших key
+     */
+    public List<String> nextWords(String key, int count) {
+        List<String> result = new ArrayList<>();
+        if (key == null || count <= 0) {
+            return result;
+        }
+
+        Iterator<String> iterator = new PrefixIterator(key, false, count);
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Итератор по поддереву с явным стеком вместо рекурсии и общим буфером символов.
+     * Строка создаётся только для выдаваемого слова, глубина ключа не ограничена стеком вызовов.
+     */
+    private final class PrefixIterator implements Iterator<String> {
+        private TrieNode[] nodes;
+        private int[] nextChild;
+        private int depth;
+        private final StringBuilder buffer;
+        private final int limit;
+        private final int expectedModCount;
+        private int returned;
+        private String nextWord;
+        // Граница обхода детей стартового узла
+        private int topEnd;
+
+        private PrefixIterator(TrieNode start, String prefix, int limit) {
+            this(prefix, limit);
+            this.nodes[0] = start;
+            this.nextWord = start.isEndOfWord ? prefix : null;
+            if (nextWord == null) {
+                advance();
+            }
+        }
+
+        /**
+         * Итератор по слову узла start (если emitSelf) и поддеревьям его детей [from, to)
+         */
+        private PrefixIterator(TrieNode start, String prefix, int from, int to, boolean emitSelf) {
+            this(prefix, Integer.MAX_VALUE);
+            this.nodes[0] = start;
+            this.nextChild[0] = from;
+            this.topEnd = to;
+            this.nextWord = emitSelf ? prefix : null;
+            if (nextWord == null) {
+                advance();
+            }
+        }
+
+        /**
+         * Итератор по всем словам, начиная с первого слова, которое больше from
+         * (или равно ему при inclusive). Стек сразу раскладывается вдоль пути from:
+         * на каждом уровне обход продолжится с первого ребра, большего символа from.
+         */
+        private PrefixIterator(String from, boolean inclusive, int limit) {
+            this("", limit);
+            this.nodes[0] = root;
+            TrieNode node = root;
+            for (int i = 0; i < from.length(); i++) {
+                int index = node.indexOf(from.charAt(i));
+                if (index < 0) {
+                    nextChild[depth] = -index - 1;
+                    advance();
+                    return;
+                }
+                nextChild[depth] = index + 1;
+                buffer.append(from.charAt(i));
+                node = node.children[index];
+                push(node);
+            }
+
+            if (inclusive && node.isEndOfWord) {
+                nextWord = buffer.toString();
+            } else {
+                advance();
+            }
+        }
+
+        private PrefixIterator(String prefix, int limit) {
+            this.nodes = new TrieNode[16];
+            this.nextChild = new int[16];
+            this.depth = 0;
+            this.buffer = new StringBuilder(prefix);
+            this.limit = limit;
+            this.expectedModCount = modCount;
+            this.returned = 0;
+            this.nextWord = null;
+            this.topEnd = Integer.MAX_VALUE;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return returned < limit && nextWord != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            String word = nextWord;
+            returned++;
+            nextWord = null;
+            if (returned < limit) {
+                advance();
+            }
+            return word;
+        }
+
+        /**
+         * Спуск в глубину до следующего узла, завершающего слово
+         */
+        private void advance() {
+            while (depth >= 0) {
+                TrieNode node = nodes[depth];
+                int index = nextChild[depth];
+                if (index == node.childCount || (depth == 0 && index == topEnd)) {
+                    // Поддерево узла пройдено — поднимаемся
+                    depth--;
+                    if (depth >= 0) {
+                        buffer.setLength(buffer.length() - 1);
+                    }
+                    continue;
+                }
+
+                nextChild[depth] = index + 1;
+                TrieNode child = node.children[index];
+                buffer.append(node.keys[index]);
+                push(child);
+                if (child.isEndOfWord) {
+                    nextWord = buffer.toString();
+                    return;
+                }
+            }
+        }
+
+        private void push(TrieNode node) {
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = node;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Сплитератор по части поддерева: слову в самом узле (если emitSelf)
+     * и поддеревьям детей с индексами [from, to). Делится пополам по диапазону детей,
+     * а когда остаётся один ребёнок — спускается в него. После начала обхода не делится.
+     */
+    private final class WordSpliterator implements Spliterator<String> {
+        private TrieNode node;
+        private String prefix;
+        private int from;
+        private int to;
+        private boolean emitSelf;
+        private long size;
+        private PrefixIterator iterator;
+
+        private WordSpliterator(TrieNode node, String prefix, int from, int to, boolean emitSelf) {
+            this.node = node;
+            this.prefix = prefix;
+            this.from = from;
+            this.to = to;
+            this.emitSelf = emitSelf;
+            this.size = countWords(node, from, to, emitSelf);
+        }
+
+        private long countWords(TrieNode node, int from, int to, boolean emitSelf) {
+            long count = emitSelf ? 1 : 0;
+            for (int i = from; i < to; i++) {
+                count += node.children[i].wordCount;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (iterator == null) {
+                iterator = new PrefixIterator(node, prefix, from, to, emitSelf);
+            }
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (iterator != null) {
+                return null;
+            }
+
+            // Один ребёнок и нет слова в самом узле — делить нечего, спускаемся по ребру
+            while (to - from == 1 && !emitSelf) {
+                prefix = prefix + node.keys[from];
+                node = node.children[from];
+                from = 0;
+                to = node.childCount;
+                emitSelf = node.isEndOfWord;
+            }
+            if (to - from == 1) {
+                // Слово самого узла отделяется, чтобы следующий вызов мог спуститься
+                WordSpliterator self = new WordSpliterator(node, prefix, from, from, true);
+                emitSelf = false;
+                size--;
+                return self;
+            }
+            if (to - from < 2) {
                 return null;
             }
-            current = current.children.get(c);
+
+            int mid = (from + to) >>> 1;
+            WordSpliterator left = new WordSpliterator(node, prefix, from, mid, emitSelf);
+            from = mid;
+            emitSelf = false;
+            size -= left.size;
+            return left;
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL
+                    | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        @Override
+        public Comparator<? super String> getComparator() {
+            // Естественный порядок строк
+            return null;
         }
-        return current;
     }
 
     /**
-     * Рекурсивный сбор всех слов из поддерева
+     * Нечёткий поиск: все слова, расстояние Левенштейна от которых до word не больше maxDistance
      * 
-     * @param node          текущий узел
-     * @param currentPrefix текущий префикс
-     * @param result        список для сохранения результатов
+     * @param word        искомое слово
+     * @param maxDistance допустимое число вставок, удалений и замен символов
+     * @return список найденных слов в лексикографическом порядке
      */
-    private void collectWords(TrieNode node, String currentPrefix, List<String> result) {
-        if (node.isEndOfWord) {
-            result.add(currentPrefix);
+    public List<String> fuzzySearch(String word, int maxDistance) {
+        List<String> result = new ArrayList<>();
+        if (word == null) {
+            return result;
         }
 
-        for (Map.Entry<Character, TrieNode> entry : node.children.entrySet()) {
-            collectWords(entry.getValue(), currentPrefix + entry.getKey(), result);
+        fuzzyCollect(word, maxDistance, false, result);
+        return result;
+    }
+
+    /**
+     * Нечёткий поиск по префиксу: все слова, у которых есть префикс
+     * на расстоянии Левенштейна не больше maxDistance от prefix
+     * 
+     * @param prefix      искомый префикс
+     * @param maxDistance допустимое число вставок, удалений и замен символов
+     * @return список найденных слов в лексикографическом порядке
+     */
+    public List<String> fuzzyPrefixSearch(String prefix, int maxDistance) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        fuzzyCollect(prefix, maxDistance, true, result);
+        return result;
+    }
+
+    /**
+     * Обход дерева с построчным вычислением матрицы Левенштейна.
+     * Строка матрицы для узла глубины d вычисляется из строки родителя, поэтому каждый узел
+     * посещается один раз, а ветви, где минимум строки превысил maxDistance, отсекаются.
+     * Строки хранятся по глубинам и переиспользуются между соседними ветвями.
+     */
+    private void fuzzyCollect(String query, int maxDistance, boolean prefixMode, List<String> result) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Расстояние не может быть отрицательным");
+        }
+
+        int n = query.length();
+        if (prefixMode && n <= maxDistance) {
+            // Пустой префикс уже укладывается в допуск — подходят все слова
+            result.addAll(getByPrefix(""));
+            return;
+        }
+
+        TrieNode[] nodes = new TrieNode[16];
+        int[] nextChild = new int[16];
+        int[][] rows = new int[16][];
+        rows[0] = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            rows[0][j] = j;
+        }
+        nodes[0] = root;
+        StringBuilder buffer = new StringBuilder();
+        int depth = 0;
+
+        while (depth >= 0) {
+            TrieNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+            nextChild[depth] = index + 1;
+
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            if (rows[depth + 1] == null) {
+                rows[depth + 1] = new int[n + 1];
+            }
+
+            char c = node.keys[index];
+            int[] previous = rows[depth];
+            int[] row = rows[depth + 1];
+            row[0] = previous[0] + 1;
+            int rowMin = row[0];
+            for (int j = 1; j <= n; j++) {
+                int replace = previous[j - 1] + (query.charAt(j - 1) == c ? 0 : 1);
+                row[j] = Math.min(replace, Math.min(row[j - 1], previous[j]) + 1);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > maxDistance) {
+                // Дальше расстояние только растёт — ветвь отсекается
+                continue;
+            }
+
+            TrieNode child = node.children[index];
+            buffer.append(c);
+            if (prefixMode && row[n] <= maxDistance) {
+                // Префикс совпал — подходит всё поддерево
+                Iterator<String> words = new PrefixIterator(child, buffer.toString(), Integer.MAX_VALUE);
+                while (words.hasNext()) {
+                    result.add(words.next());
+                }
+                buffer.setLength(buffer.length() - 1);
+                continue;
+            }
+            if (!prefixMode && child.isEndOfWord && row[n] <= maxDistance) {
+                result.add(buffer.toString());
+            }
+
+            depth++;
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    /**
+     * Поиск слов по шаблону: {@code ?} — любой символ, {@code *} — любая последовательность,
+     * {@code [abc]}, {@code [a-z]}, {@code [!a-z]} — классы символов, {@code \} — экранирование.
+     * Обход спускается только по рёбрам, допустимым для шаблона: литералы и одиночные
+     * диапазоны находятся бинарным поиском, а ветвление происходит лишь на подстановочных знаках.
+     * 
+     * @param pattern шаблон, которому должно целиком соответствовать слово
+     * @return список найденных слов в лексикографическом порядке
+     * @throws IllegalArgumentException если шаблон синтаксически неверен
+     */
+    public List<String> wildcardSearch(String pattern) {
+        List<String> result = new ArrayList<>();
+        if (pattern == null) {
+            return result;
+        }
+
+        WildcardPattern compiled = WildcardPattern.compile(pattern);
+        int words = compiled.words();
+        TrieNode[] nodes = new TrieNode[16];
+        int[] nextChild = new int[16];
+        int[] endChild = new int[16];
+        long[][] states = new long[16][];
+        char[] bounds = new char[2];
+        StringBuilder buffer = new StringBuilder();
+
+        states[0] = new long[words];
+        compiled.start(states[0]);
+        if (compiled.acceptsAnySuffix(states[0])) {
+            return getByPrefix("");
+        }
+        nodes[0] = root;
+        int depth = 0;
+        setChildRange(compiled, nodes, states, nextChild, endChild, bounds, 0);
+
+        while (depth >= 0) {
+            TrieNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index >= endChild[depth]) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+            nextChild[depth] = index + 1;
+
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+                endChild = Arrays.copyOf(endChild, endChild.length * 2);
+                states = Arrays.copyOf(states, states.length * 2);
+            }
+            if (states[depth + 1] == null) {
+                states[depth + 1] = new long[words];
+            }
+
+            char c = node.keys[index];
+            long[] next = states[depth + 1];
+            if (!compiled.step(states[depth], c, next)) {
+                // Ни одно состояние шаблона не продолжается — поддерево отсекается
+                continue;
+            }
+
+            TrieNode child = node.children[index];
+            buffer.append(c);
+            if (compiled.acceptsAnySuffix(next)) {
+                // Остались только звёздочки — подходит всё поддерево
+                Iterator<String> subtree = new PrefixIterator(child, buffer.toString(), Integer.MAX_VALUE);
+                while (subtree.hasNext()) {
+                    result.add(subtree.next());
+                }
+                buffer.setLength(buffer.length() - 1);
+                continue;
+            }
+            if (child.isEndOfWord && compiled.accepts(next)) {
+                result.add(buffer.toString());
+            }
+
+            depth++;
+            nodes[depth] = child;
+            setChildRange(compiled, nodes, states, nextChild, endChild, bounds, depth);
+        }
+
+        return result;
+    }
+
+    /**
+     * Диапазон рёбер узла на уровне depth, которые стоит проверять при текущих состояниях шаблона
+     */
+    private static void setChildRange(WildcardPattern pattern, TrieNode[] nodes, long[][] states,
+            int[] nextChild, int[] endChild, char[] bounds, int depth) {
+        TrieNode node = nodes[depth];
+        if (!pattern.singleRange(states[depth], bounds)) {
+            nextChild[depth] = 0;
+            endChild[depth] = node.childCount;
+            return;
+        }
+
+        int from = node.indexOf(bounds[0]);
+        nextChild[depth] = from >= 0 ? from : -from - 1;
+        if (bounds[1] == Character.MAX_VALUE) {
+            endChild[depth] = node.childCount;
+        } else {
+            int to = node.indexOf((char) (bounds[1] + 1));
+            endChild[depth] = to >= 0 ? to : -to - 1;
         }
     }
 
@@ -139,10 +1030,12 @@ public class Trie {
         }
 
         removeRecursive(root, word, 0);
+        modCount++;
         return true;
     }
 
     private void removeRecursive(TrieNode current, String word, int index) {
+        current.wordCount--;
         if (index == word.length()) {
             // Просто снимаем флаг конца слова
             current.isEndOfWord = false;
@@ -150,38 +1043,40 @@ public class Trie {
         }
 
         char ch = word.charAt(index);
-        TrieNode child = current.children.get(ch);
+        TrieNode child = current.getChild(ch);
 
         if (child != null) {
             removeRecursive(child, word, index + 1);
 
-            // Если дочерний узел пустой и не является концом слова, удаляем его
-            if (child.children.isEmpty() && !child.isEndOfWord) {
-                current.children.remove(ch);
+            // Если в поддереве ребёнка не осталось слов, удаляем его
+            if (child.wordCount == 0) {
+                current.removeChild(ch);
             }
         }
     }
 
     /**
-     * Получение количества слов в дереве
+     * Получение количества слов в дереве за O(1)
      * 
      * @return количество слов
      */
     public int size() {
-        return countWords(root);
+        return root.wordCount;
     }
 
-    private int countWords(TrieNode node) {
-        int count = 0;
-        if (node.isEndOfWord) {
-            count++;
-        }
-
-        for (TrieNode child : node.children.values()) {
-            count += countWords(child);
+    /**
+     * Получение количества слов с данным префиксом за O(|prefix|)
+     * 
+     * @param prefix префикс для подсчёта
+     * @return количество слов, начинающихся с данного префикса
+     */
+    public int countByPrefix(String prefix) {
+        if (prefix == null) {
+            return 0;
         }
 
-        return count;
+        TrieNode node = findNode(prefix);
+        return node != null ? node.wordCount : 0;
     }
 
     /**
@@ -190,7 +1085,16 @@ public class Trie {
      * @return true если дерево пустое, false в противном случае
      */
     public boolean isEmpty() {
-        return root.children.isEmpty();
+        return root.wordCount == 0;
+    }
+
+    /**
+     * Статистика формы дерева и оценка занимаемой памяти за один обход
+     * 
+     * @return снимок статистики
+     */
+    public TrieStats stats() {
+        return TrieStats.collect(root);
     }
 
     @Override
@@ -224,6 +1128,24 @@ public class Trie {
         System.out.println("Words with prefix 'app': " + trie.getByPrefix("app"));
         System.out.println("Words with prefix 'ban': " + trie.getByPrefix("ban"));
         System.out.println("All words: " + trie.getByPrefix(""));
+        System.out.println("First 2 words with prefix 'a': " + trie.streamByPrefix("a", 2).toList());
+        System.out.println("Fuzzy 'aple' (distance 1): " + trie.fuzzySearch("aple", 1)); // [apple]
+        System.out.println("Fuzzy prefix 'bna' (distance 1): " + trie.fuzzyPrefixSearch("bna", 1));
+        System.out.println("Floor 'apricot': " + trie.floor("apricot")); // application
+        System.out.println("Ceiling 'b': " + trie.ceiling("b")); // banana
+        System.out.println("Range ['apple', 'band'): " + trie.subRange("apple", "band"));
+        System.out.println("Next 2 words after 'apple': " + trie.nextWords("apple", 2));
+        System.out.println("Longest prefix of 'applesauce': " + trie.longestPrefixOf("applesauce")); // 5
+        System.out.println("Pattern 'app*': " + trie.wildcardSearch("app*")); // [app, apple, application]
+        System.out.println("Pattern 'ba[m-z]?*': " + trie.wildcardSearch("ba[m-z]?*")); // [banana, band]
+
+        // Параллельная загрузка и параллельный обход
+        Trie bulk = new Trie();
+        bulk.bulkInsert(Arrays.asList("delta", "alpha", "charlie", "bravo", "alpha"));
+        System.out.println("Bulk size: " + bulk.size()); // 4
+        System.out.println("Stats: " + trie.stats());
+        System.out.println("Parallel upper: "
+                + bulk.parallelStream().map(String::toUpperCase).collect(Collectors.toList()));
 
         // Удаление слова
         System.out.println("Remove 'app': " + trie.remove("app"));
@@ -232,6 +1154,7 @@ public class Trie {
 
         // Размер дерева
         System.out.println("Trie size: " + trie.size());
+        System.out.println("Words with prefix 'app': " + trie.countByPrefix("app"));
         System.out.println("Is trie empty: " + trie.isEmpty());
 
         System.out.println(trie);
@@ -0,0 +1,238 @@
+package Trie;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Набор микробенчмарков для операций {@link Trie}.
+ * Для каждой операции выполняются прогревочные и измерительные итерации,
+ * выводится время на операцию и объём выделенной памяти на операцию
+ * (по счётчику выделений текущего потока, аналог профилировщика gc в JMH).
+ *
+ * <p>Запуск: {@code java Trie.TrieBenchmark [размеры через запятую] [распределения через запятую]},
+ * например {@code java -Xmx8g Trie.TrieBenchmark 10000,1000000,10000000 uniform,urls}.
+ */
+public class TrieBenchmark {
+
+    // Распределения ключей словаря
+    private enum Distribution {
+        // Случайные строки из латинских букв длиной 3–12
+        UNIFORM,
+        // Буквы с частотами английского языка: много общих коротких префиксов
+        ENGLISH,
+        // URL-подобные ключи с длинными общими префиксами
+        URLS
+    }
+
+    // Подготовка состояния перед итерацией; не входит в измерение
+    private interface Setup {
+        Trie prepare();
+    }
+
+    // Измеряемая операция; возвращаемое значение не даёт JIT выбросить вычисления
+    private interface Operation {
+        long run(Trie trie);
+    }
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 10;
+    private static final int QUERY_COUNT = 100_000;
+    private static final int PREFIX_QUERY_COUNT = 1_000;
+    private static final String ENGLISH_LETTERS =
+            "eeeeeeeeeeeetttttttttaaaaaaaaooooooooiiiiiiinnnnnnnsssssshhhhhhrrrrrrddddllllcccuuummwwffggyyppbbvkjxqz";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Сток результатов
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args[0]) : new int[] { 10_000, 100_000, 1_000_000 };
+        List<Distribution> distributions = args.length > 1 ? parseDistributions(args[1])
+                : Arrays.asList(Distribution.values());
+
+        System.out.printf("%-10s %-9s %-22s %14s %14s%n", "size", "keys", "operation", "ns/op", "B/op");
+        for (Distribution distribution : distributions) {
+            for (int size : sizes) {
+                run(distribution, size);
+            }
+        }
+    }
+
+    private static void run(Distribution distribution, int size) {
+        Random random = new Random(42);
+        List<String> words = generate(distribution, size, random);
+
+        List<String> queries = new ArrayList<>(QUERY_COUNT);
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            // Половина запросов попадает в словарь, половина — нет
+            String word = words.get(random.nextInt(words.size()));
+            queries.add(i % 2 == 0 ? word : word + '#');
+        }
+        List<String> shortPrefixes = new ArrayList<>(PREFIX_QUERY_COUNT);
+        List<String> longPrefixes = new ArrayList<>(PREFIX_QUERY_COUNT);
+        for (int i = 0; i < PREFIX_QUERY_COUNT; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            shortPrefixes.add(word.substring(0, 1));
+            longPrefixes.add(word.substring(0, Math.max(1, word.length() - 2)));
+        }
+
+        Trie loaded = new Trie();
+        long heapBefore = usedHeap();
+        for (String word : words) {
+            loaded.insert(word);
+        }
+        long heapAfter = usedHeap();
+
+        String label = distribution.name().toLowerCase();
+        System.out.printf("%-10d %-9s %-22s %14s %14.1f  (удержано на слово)%n",
+                size, label, "heap", "-", (heapAfter - heapBefore) / (double) words.size());
+
+        measure(size, label, "insert", words.size(), Trie::new, trie -> {
+            for (String word : words) {
+                trie.insert(word);
+            }
+            return trie.size();
+        });
+        measure(size, label, "contains", queries.size(), () -> loaded, trie -> {
+            long found = 0;
+            for (String query : queries) {
+                if (trie.contains(query)) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        measure(size, label, "startsWith", queries.size(), () -> loaded, trie -> {
+            long found = 0;
+            for (String query : queries) {
+                if (trie.startsWith(query)) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        measure(size, label, "getByPrefix(short)", shortPrefixes.size(), () -> loaded, trie -> {
+            long total = 0;
+            for (String prefix : shortPrefixes) {
+                total += trie.getByPrefix(prefix).size();
+            }
+            return total;
+        });
+        measure(size, label, "getByPrefix(long)", longPrefixes.size(), () -> loaded, trie -> {
+            long total = 0;
+            for (String prefix : longPrefixes) {
+                total += trie.getByPrefix(prefix).size();
+            }
+            return total;
+        });
+        measure(size, label, "remove", words.size(), () -> {
+            Trie trie = new Trie();
+            for (String word : words) {
+                trie.insert(word);
+            }
+            return trie;
+        }, trie -> {
+            long removed = 0;
+            for (String word : words) {
+                if (trie.remove(word)) {
+                    removed++;
+                }
+            }
+            return removed;
+        });
+        measure(size, label, "size", QUERY_COUNT, () -> loaded, trie -> {
+            long total = 0;
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                total += trie.size();
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Прогрев и измерение одной операции
+     *
+     * @param operationsPerIteration сколько элементарных операций выполняет один вызов
+     */
+    private static void measure(int size, String label, String name, int operationsPerIteration,
+            Setup setup, Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.run(setup.prepare());
+        }
+
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            Trie trie = setup.prepare();
+            long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            sink += operation.run(trie);
+            totalNanos += System.nanoTime() - start;
+            totalBytes += THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+
+        double operations = (double) operationsPerIteration * MEASURE_ITERATIONS;
+        System.out.printf("%-10d %-9s %-22s %14.1f %14.1f%n",
+                size, label, name, totalNanos / operations, totalBytes / operations);
+    }
+
+    private static List<String> generate(Distribution distribution, int size, Random random) {
+        Set<String> words = new LinkedHashSet<>(size * 2);
+        String[] hosts = { "api.example.com", "cdn.example.com", "shop.example.org", "docs.example.net" };
+        String[] sections = { "users", "orders", "products", "search", "static", "v1", "v2" };
+        StringBuilder builder = new StringBuilder();
+
+        while (words.size() < size) {
+            builder.setLength(0);
+            switch (distribution) {
+                case UNIFORM:
+                    appendLetters(builder, "abcdefghijklmnopqrstuvwxyz", 3 + random.nextInt(10), random);
+                    break;
+                case ENGLISH:
+                    appendLetters(builder, ENGLISH_LETTERS, 3 + random.nextInt(10), random);
+                    break;
+                case URLS:
+                    builder.append("https://").append(hosts[random.nextInt(hosts.length)]);
+                    int depth = 1 + random.nextInt(4);
+                    for (int i = 0; i < depth; i++) {
+                        builder.append('/').append(sections[random.nextInt(sections.length)]);
+                    }
+                    builder.append('/').append(random.nextInt(size));
+                    break;
+                default:
+                    throw new IllegalStateException("Неизвестное распределение: " + distribution);
+            }
+            words.add(builder.toString());
+        }
+
+        return new ArrayList<>(words);
+    }
+
+    private static void appendLetters(StringBuilder builder, String alphabet, int length, Random random) {
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int[] parseSizes(String value) {
+        return Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    private static List<Distribution> parseDistributions(String value) {
+        List<Distribution> result = new ArrayList<>();
+        for (String name : value.split(",")) {
+            result.add(Distribution.valueOf(name.trim().toUpperCase()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,325 @@
+package Trie;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ассоциативный массив String → int на префиксном дереве.
+ * Значение хранится в узле как примитив, без упаковки в Integer,
+ * поэтому счётчики и идентификаторы не создают дополнительных объектов.
+ */
+public class TrieIntMap {
+
+    // Узел дерева: отсортированные метки рёбер, дети и значение ключа, оканчивающегося здесь
+    private static class IntNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final IntNode[] NO_CHILDREN = new IntNode[0];
+
+        private char[] keys;
+        private IntNode[] children;
+        private int childCount;
+        private boolean hasValue;
+        private int value;
+
+        public IntNode() {
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.hasValue = false;
+            this.value = 0;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        private IntNode getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private IntNode getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            IntNode child = new IntNode();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+    }
+
+    private final IntNode root;
+    private int size;
+
+    public TrieIntMap() {
+        this.root = new IntNode();
+        this.size = 0;
+    }
+
+    /**
+     * Сохранение значения по ключу
+     *
+     * @param key   непустой ключ
+     * @param value значение
+     */
+    public void put(String key, int value) {
+        IntNode node = getOrAddNode(key);
+        node.value = value;
+    }
+
+    /**
+     * Прибавление к значению ключа; отсутствующий ключ считается равным 0
+     *
+     * @param key   непустой ключ
+     * @param delta приращение
+     * @return новое значение
+     */
+    public int addTo(String key, int delta) {
+        IntNode node = getOrAddNode(key);
+        node.value += delta;
+        return node.value;
+    }
+
+    /**
+     * Получение значения по ключу
+     *
+     * @param key ключ
+     * @return значение или 0, если ключа нет
+     */
+    public int get(String key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Получение значения по ключу со значением по умолчанию
+     *
+     * @param key          ключ
+     * @param defaultValue значение, если ключа нет
+     * @return значение ключа или defaultValue
+     */
+    public int getOrDefault(String key, int defaultValue) {
+        IntNode node = findNode(key);
+        return node != null && node.hasValue ? node.value : defaultValue;
+    }
+
+    /**
+     * Проверка наличия ключа
+     *
+     * @param key ключ для проверки
+     * @return true если ключ есть, false в противном случае
+     */
+    public boolean containsKey(String key) {
+        IntNode node = findNode(key);
+        return node != null && node.hasValue;
+    }
+
+    /**
+     * Получение значения или его вычисление и сохранение, если ключа нет
+     *
+     * @param key             непустой ключ
+     * @param mappingFunction функция вычисления значения по ключу
+     * @return текущее или вычисленное значение
+     */
+    public int computeIfAbsent(String key, ToIntFunction<? super String> mappingFunction) {
+        validateKey(key);
+
+        IntNode node = findNode(key);
+        if (node != null && node.hasValue) {
+            return node.value;
+        }
+
+        int value = mappingFunction.applyAsInt(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Удаление ключа
+     *
+     * @param key ключ для удаления
+     * @return true если ключ был удалён, false если ключа не было
+     */
+    public boolean remove(String key) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+
+        IntNode[] path = new IntNode[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].getChild(key.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+
+        IntNode node = path[key.length()];
+        if (!node.hasValue) {
+            return false;
+        }
+        node.hasValue = false;
+        node.value = 0;
+        size--;
+
+        // Удаляем опустевшие узлы снизу вверх
+        for (int depth = key.length(); depth > 0; depth--) {
+            IntNode current = path[depth];
+            if (current.childCount > 0 || current.hasValue) {
+                break;
+            }
+            path[depth - 1].removeChild(key.charAt(depth - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Обход пар ключ–значение по префиксу ключа в лексикографическом порядке
+     *
+     * @param prefix префикс ключа
+     * @param action действие для каждой пары
+     */
+    public void forEachByPrefix(String prefix, ObjIntConsumer<String> action) {
+        IntNode start = findNode(prefix);
+        if (start == null) {
+            return;
+        }
+
+        StringBuilder buffer = new StringBuilder(prefix);
+        IntNode[] nodes = new IntNode[16];
+        int[] nextChild = new int[16];
+        nodes[0] = start;
+        if (start.hasValue) {
+            action.accept(prefix, start.value);
+        }
+
+        int depth = 0;
+        while (depth >= 0) {
+            IntNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            IntNode child = node.children[index];
+            buffer.append(node.keys[index]);
+            if (child.hasValue) {
+                action.accept(buffer.toString(), child.value);
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    private IntNode getOrAddNode(String key) {
+        validateKey(key);
+
+        IntNode node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (!node.hasValue) {
+            node.hasValue = true;
+            size++;
+        }
+        return node;
+    }
+
+    private IntNode findNode(String str) {
+        if (str == null) {
+            return null;
+        }
+
+        IntNode current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Ключ не может быть пустым");
+        }
+    }
+
+    /**
+     * Получение количества ключей
+     *
+     * @return количество ключей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверка, пуст ли массив
+     *
+     * @return true если ключей нет, false в противном случае
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "TrieIntMap{", "}");
+        forEachByPrefix("", (key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        TrieIntMap counters = new TrieIntMap();
+
+        for (String word : "to be or not to be".split(" ")) {
+            counters.addTo(word, 1);
+        }
+
+        System.out.println("Count 'to': " + counters.get("to")); // 2
+        System.out.println("Count 'is': " + counters.get("is")); // 0
+        System.out.println("Contains 'not': " + counters.containsKey("not")); // true
+        System.out.println(counters);
+    }
+}
@@ -0,0 +1,327 @@
+package Trie;
+
+import java.util.*;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Ассоциативный массив String → long на префиксном дереве.
+ * Значение хранится в узле как примитив, без упаковки в Long,
+ * поэтому счётчики и идентификаторы не создают дополнительных объектов.
+ */
+public class TrieLongMap {
+
+    // Узел дерева: отсортированные метки рёбер, дети и значение ключа, оканчивающегося здесь
+    private static class LongNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final LongNode[] NO_CHILDREN = new LongNode[0];
+
+        private char[] keys;
+        private LongNode[] children;
+        private int childCount;
+        private boolean hasValue;
+        private long value;
+
+        public LongNode() {
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.hasValue = false;
+            this.value = 0;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        private LongNode getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private LongNode getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            LongNode child = new LongNode();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+    }
+
+    private final LongNode root;
+    private int size;
+
+    public TrieLongMap() {
+        this.root = new LongNode();
+        this.size = 0;
+    }
+
+    /**
+     * Сохранение значения по ключу
+     *
+     * @param key   непустой ключ
+     * @param value значение
+     */
+    public void put(String key, long value) {
+        LongNode node = getOrAddNode(key);
+        node.value = value;
+    }
+
+    /**
+     * Прибавление к значению ключа; отсутствующий ключ считается равным 0
+     *
+     * @param key   непустой ключ
+     * @param delta приращение
+     * @return новое значение
+     */
+    public long addTo(String key, long delta) {
+        LongNode node = getOrAddNode(key);
+        node.value += delta;
+        return node.value;
+    }
+
+    /**
+     * Получение значения по ключу
+     *
+     * @param key ключ
+     * @return значение или 0, если ключа нет
+     */
+    public long get(String key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Получение значения по ключу со значением по умолчанию
+     *
+     * @param key          ключ
+     * @param defaultValue значение, если ключа нет
+     * @return значение ключа или defaultValue
+     */
+    public long getOrDefault(String key, long defaultValue) {
+        LongNode node = findNode(key);
+        return node != null && node.hasValue ? node.value : defaultValue;
+    }
+
+    /**
+     * Проверка наличия ключа
+     *
+     * @param key ключ для проверки
+     * @return true если ключ есть, false в противном случае
+     */
+    public boolean containsKey(String key) {
+        LongNode node = findNode(key);
+        return node != null && node.hasValue;
+    }
+
+    /**
+     * Получение значения или его вычисление и сохранение, если ключа нет
+     *
+     * @param key             непустой ключ
+     * @param mappingFunction функция вычисления значения по ключу
+     * @return текущее или вычисленное значение
+     */
+    public long computeIfAbsent(String key, ToLongFunction<? super String> mappingFunction) {
+        validateKey(key);
+
+        LongNode node = findNode(key);
+        if (node != null && node.hasValue) {
+            return node.value;
+        }
+
+        long value = mappingFunction.applyAsLong(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Удаление ключа
+     *
+     * @param key ключ для удаления
+     * @return true если ключ был удалён, false если ключа не было
+     */
+    public boolean remove(String key) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+
+        LongNode[] path = new LongNode[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].getChild(key.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+
+        LongNode node = path[key.length()];
+        if (!node.hasValue) {
+            return false;
+        }
+        node.hasValue = false;
+        node.value = 0;
+        size--;
+
+        // Удаляем опустевшие узлы снизу вверх
+        for (int depth = key.length(); depth > 0; depth--) {
+            LongNode current = path[depth];
+            if (current.childCount > 0 || current.hasValue) {
+                break;
+            }
+            path[depth - 1].removeChild(key.charAt(depth - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Обход пар ключ–значение по префиксу ключа в лексикографическом порядке
+     *
+     * @param prefix префикс ключа
+     * @param action действие для каждой пары
+     */
+    public void forEachByPrefix(String prefix, ObjLongConsumer<String> action) {
+        LongNode start = findNode(prefix);
+        if (start == null) {
+            return;
+        }
+
+        StringBuilder buffer = new StringBuilder(prefix);
+        LongNode[] nodes = new LongNode[16];
+        int[] nextChild = new int[16];
+        nodes[0] = start;
+        if (start.hasValue) {
+            action.accept(prefix, start.value);
+        }
+
+        int depth = 0;
+        while (depth >= 0) {
+            LongNode node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            LongNode child = node.children[index];
+            buffer.append(node.keys[index]);
+            if (child.hasValue) {
+                action.accept(buffer.toString(), child.value);
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    private LongNode getOrAddNode(String key) {
+        validateKey(key);
+
+        LongNode node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (!node.hasValue) {
+            node.hasValue = true;
+            size++;
+        }
+        return node;
+    }
+
+    private LongNode findNode(String str) {
+        if (str == null) {
+            return null;
+        }
+
+        LongNode current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Ключ не может быть пустым");
+        }
+    }
+
+    /**
+     * Получение количества ключей
+     *
+     * @return количество ключей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверка, пуст ли массив
+     *
+     * @return true если ключей нет, false в противном случае
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "TrieLongMap{", "}");
+        forEachByPrefix("", (key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        TrieLongMap userIds = new TrieLongMap();
+
+        userIds.put("alice", 9_000_000_001L);
+        userIds.put("alex", 9_000_000_002L);
+        userIds.put("bob", 9_000_000_003L);
+
+        System.out.println("Id 'alex': " + userIds.get("alex")); // 9000000002
+        System.out.println("Id 'carol' or -1: " + userIds.getOrDefault("carol", -1)); // -1
+        StringBuilder withPrefix = new StringBuilder();
+        userIds.forEachByPrefix("al", (name, id) -> withPrefix.append(name).append(' '));
+        System.out.println("Users with prefix 'al': " + withPrefix.toString().trim());
+        System.out.println(userIds);
+    }
+}
@@ -0,0 +1,339 @@
+package Trie;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Ассоциативный массив на префиксном дереве: значение хранится прямо в узле,
+ * где заканчивается ключ. Заменяет пару Trie + HashMap&lt;String, V&gt; без повторного
+ * хеширования ключа. Для примитивных значений см. {@link TrieIntMap} и {@link TrieLongMap}.
+ *
+ * @param <V> тип значений
+ */
+public class TrieMap<V> {
+
+    // Узел дерева: отсортированные метки рёбер, дети и значение ключа, оканчивающегося здесь
+    private static class MapNode<V> {
+        private static final char[] NO_KEYS = new char[0];
+        private static final MapNode<?>[] NO_CHILDREN = new MapNode<?>[0];
+
+        private char[] keys;
+        private MapNode<V>[] children;
+        private int childCount;
+        private boolean hasValue;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        public MapNode() {
+            this.keys = NO_KEYS;
+            this.children = (MapNode<V>[]) NO_CHILDREN;
+            this.childCount = 0;
+            this.hasValue = false;
+            this.value = null;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        private MapNode<V> getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private MapNode<V> getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            MapNode<V> child = new MapNode<>();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = (MapNode<V>[]) NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+    }
+
+    private final MapNode<V> root;
+    private int size;
+
+    public TrieMap() {
+        this.root = new MapNode<>();
+        this.size = 0;
+    }
+
+    /**
+     * Сохранение значения по ключу
+     *
+     * @param key   непустой ключ
+     * @param value значение
+     * @return предыдущее значение или null, если ключа не было
+     */
+    public V put(String key, V value) {
+        validateKey(key);
+
+        MapNode<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+
+        V previous = node.value;
+        if (!node.hasValue) {
+            node.hasValue = true;
+            size++;
+        }
+        node.value = value;
+        return previous;
+    }
+
+    /**
+     * Получение значения по ключу
+     *
+     * @param key ключ
+     * @return значение или null, если ключа нет
+     */
+    public V get(String key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Получение значения по ключу со значением по умолчанию
+     *
+     * @param key          ключ
+     * @param defaultValue значение, если ключа нет
+     * @return значение ключа или defaultValue
+     */
+    public V getOrDefault(String key, V defaultValue) {
+        MapNode<V> node = findNode(key);
+        return node != null && node.hasValue ? node.value : defaultValue;
+    }
+
+    /**
+     * Проверка наличия ключа
+     *
+     * @param key ключ для проверки
+     * @return true если ключ есть, false в противном случае
+     */
+    public boolean containsKey(String key) {
+        MapNode<V> node = findNode(key);
+        return node != null && node.hasValue;
+    }
+
+    /**
+     * Получение значения или его вычисление и сохранение, если ключа нет.
+     * Если функция вернула null, ничего не сохраняется.
+     *
+     * @param key             непустой ключ
+     * @param mappingFunction функция вычисления значения по ключу
+     * @return текущее или вычисленное значение
+     */
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        validateKey(key);
+
+        MapNode<V> node = findNode(key);
+        if (node != null && node.hasValue && node.value != null) {
+            return node.value;
+        }
+
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Удаление ключа
+     *
+     * @param key ключ для удаления
+     * @return удалённое значение или null, если ключа не было
+     */
+    public V remove(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        MapNode<V>[] path = (MapNode<V>[]) new MapNode<?>[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].getChild(key.charAt(i));
+            if (path[i + 1] == null) {
+                return null;
+            }
+        }
+
+        MapNode<V> node = path[key.length()];
+        if (!node.hasValue) {
+            return null;
+        }
+
+        V previous = node.value;
+        node.hasValue = false;
+        node.value = null;
+        size--;
+
+        // Удаляем опустевшие узлы снизу вверх
+        for (int depth = key.length(); depth > 0; depth--) {
+            MapNode<V> current = path[depth];
+            if (current.childCount > 0 || current.hasValue) {
+                break;
+            }
+            path[depth - 1].removeChild(key.charAt(depth - 1));
+        }
+        return previous;
+    }
+
+    /**
+     * Получение всех пар ключ–значение по префиксу ключа
+     *
+     * @param prefix префикс ключа
+     * @return пары в лексикографическом порядке ключей
+     */
+    public List<Map.Entry<String, V>> prefixEntries(String prefix) {
+        List<Map.Entry<String, V>> result = new ArrayList<>();
+        forEachByPrefix(prefix, (key, value) -> result.add(new AbstractMap.SimpleImmutableEntry<>(key, value)));
+        return result;
+    }
+
+    /**
+     * Обход пар ключ–значение по префиксу ключа в лексикографическом порядке
+     *
+     * @param prefix префикс ключа
+     * @param action действие для каждой пары
+     */
+    public void forEachByPrefix(String prefix, BiConsumer<String, ? super V> action) {
+        if (prefix == null) {
+            return;
+        }
+        MapNode<V> start = findNode(prefix);
+        if (start == null) {
+            return;
+        }
+
+        StringBuilder buffer = new StringBuilder(prefix);
+        @SuppressWarnings("unchecked")
+        MapNode<V>[] nodes = (MapNode<V>[]) new MapNode<?>[16];
+        int[] nextChild = new int[16];
+        nodes[0] = start;
+        if (start.hasValue) {
+            action.accept(prefix, start.value);
+        }
+
+        int depth = 0;
+        while (depth >= 0) {
+            MapNode<V> node = nodes[depth];
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                depth--;
+                if (depth >= 0) {
+                    buffer.setLength(buffer.length() - 1);
+                }
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            MapNode<V> child = node.children[index];
+            buffer.append(node.keys[index]);
+            if (child.hasValue) {
+                action.accept(buffer.toString(), child.value);
+            }
+
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = child;
+            nextChild[depth] = 0;
+        }
+    }
+
+    private MapNode<V> findNode(String str) {
+        if (str == null) {
+            return null;
+        }
+
+        MapNode<V> current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    private static void validateKey(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Ключ не может быть пустым");
+        }
+    }
+
+    /**
+     * Получение количества ключей
+     *
+     * @return количество ключей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверка, пуст ли массив
+     *
+     * @return true если ключей нет, false в противном случае
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "TrieMap{", "}");
+        forEachByPrefix("", (key, value) -> joiner.add(key + "=" + value));
+        return joiner.toString();
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        TrieMap<String> routes = new TrieMap<>();
+
+        routes.put("/api/users", "UserController");
+        routes.put("/api/orders", "OrderController");
+        routes.put("/about", "PageController");
+
+        System.out.println("Get '/api/users': " + routes.get("/api/users")); // UserController
+        System.out.println("Entries with prefix '/api': " + routes.prefixEntries("/api"));
+        System.out.println("ComputeIfAbsent '/health': "
+                + routes.computeIfAbsent("/health", key -> "HealthController"));
+        System.out.println("Remove '/about': " + routes.remove("/about")); // PageController
+        System.out.println(routes);
+    }
+}
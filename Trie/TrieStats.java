@@ -0,0 +1,215 @@
+package Trie;
+
+import java.util.Arrays;
+
+/**
+ * Снимок формы и объёма префиксного дерева: число узлов, распределение ветвления,
+ * глубина, доля одиночных цепочек и оценка занимаемой памяти.
+ *
+ * <p>Память оценивается для 64-битной JVM со сжатыми ссылками: заголовок объекта 12 байт,
+ * ссылка 4 байта, выравнивание по 8 байтам. Учитывается фактическая ёмкость массивов
+ * детей, включая незанятый запас; общие пустые массивы листьев не учитываются.
+ */
+public final class TrieStats {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    // Заголовок, две ссылки, два int и boolean
+    private static final int NODE_BYTES = align(OBJECT_HEADER + 2 * REFERENCE + 2 * Integer.BYTES + 1);
+
+    private final long nodeCount;
+    private final long wordCount;
+    private final int maxDepth;
+    private final double averageWordLength;
+    private final long[] fanOutHistogram;
+    private final long singleChildNodes;
+    private final long unusedSlots;
+    private final long estimatedBytes;
+    // Время снятия снимка хранится вместе с ним, чтобы читатель не увидел время одного снимка рядом с другим
+    private final long collectedAt;
+
+    private TrieStats(long nodeCount, long wordCount, int maxDepth, double averageWordLength,
+            long[] fanOutHistogram, long singleChildNodes, long unusedSlots, long estimatedBytes, long collectedAt) {
+        this.nodeCount = nodeCount;
+        this.wordCount = wordCount;
+        this.maxDepth = maxDepth;
+        this.averageWordLength = averageWordLength;
+        this.fanOutHistogram = fanOutHistogram;
+        this.singleChildNodes = singleChildNodes;
+        this.unusedSlots = unusedSlots;
+        this.estimatedBytes = estimatedBytes;
+        this.collectedAt = collectedAt;
+    }
+
+    /**
+     * Сбор статистики одним обходом с явным стеком
+     */
+    static TrieStats collect(Trie.TrieNode root) {
+        Trie.TrieNode[] nodes = new Trie.TrieNode[16];
+        int[] nextChild = new int[16];
+        int depth = 0;
+        nodes[0] = root;
+
+        long nodeCount = 0;
+        long wordCount = 0;
+        long totalWordLength = 0;
+        int maxDepth = 0;
+        long[] fanOut = new long[8];
+        long singleChildNodes = 0;
+        long unusedSlots = 0;
+        long bytes = 0;
+
+        // Узел учитывается при первом заходе, когда nextChild ещё 0
+        boolean entered = false;
+        while (depth >= 0) {
+            Trie.TrieNode node = nodes[depth];
+            if (!entered) {
+                nodeCount++;
+                maxDepth = Math.max(maxDepth, depth);
+                if (node.isEndOfWord) {
+                    wordCount++;
+                    totalWordLength += depth;
+                }
+                if (node.childCount >= fanOut.length) {
+                    fanOut = Arrays.copyOf(fanOut, Math.max(fanOut.length * 2, node.childCount + 1));
+                }
+                fanOut[node.childCount]++;
+                // Цепочка без ветвления, которую сжало бы дерево с метками-строками
+                if (node.childCount == 1 && !node.isEndOfWord) {
+                    singleChildNodes++;
+                }
+                unusedSlots += node.keys.length - node.childCount;
+                bytes += NODE_BYTES;
+                if (node.keys.length > 0) {
+                    bytes += align(ARRAY_HEADER + (long) Character.BYTES * node.keys.length);
+                    bytes += align(ARRAY_HEADER + (long) REFERENCE * node.children.length);
+                }
+                entered = true;
+            }
+
+            int index = nextChild[depth];
+            if (index == node.childCount) {
+                nodes[depth] = null;
+                depth--;
+                continue;
+            }
+
+            nextChild[depth] = index + 1;
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+            }
+            nodes[depth] = node.children[index];
+            nextChild[depth] = 0;
+            entered = false;
+        }
+
+        int maxFanOut = fanOut.length - 1;
+        while (maxFanOut > 0 && fanOut[maxFanOut] == 0) {
+            maxFanOut--;
+        }
+        double averageWordLength = wordCount == 0 ? 0 : (double) totalWordLength / wordCount;
+        return new TrieStats(nodeCount, wordCount, maxDepth, averageWordLength,
+                Arrays.copyOf(fanOut, maxFanOut + 1), singleChildNodes, unusedSlots, bytes, System.currentTimeMillis());
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @return количество узлов, включая корень
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return количество слов
+     */
+    public long getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @return глубина самого глубокого узла (длина самого длинного слова)
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return средняя длина слова, то есть средняя глубина узлов-концов слов
+     */
+    public double getAverageWordLength() {
+        return averageWordLength;
+    }
+
+    /**
+     * Распределение ветвления: элемент i — число узлов ровно с i детьми
+     *
+     * @return копия гистограммы
+     */
+    public long[] getFanOutHistogram() {
+        return fanOutHistogram.clone();
+    }
+
+    /**
+     * @return количество узлов с одним ребёнком, не являющихся концом слова
+     */
+    public long getSingleChildNodes() {
+        return singleChildNodes;
+    }
+
+    /**
+     * Доля узлов, входящих в цепочки без ветвления. Высокая доля означает,
+     * что {@link RadixTrie} будет заметно компактнее.
+     *
+     * @return доля от 0 до 1
+     */
+    public double getSingleChildChainShare() {
+        return nodeCount == 0 ? 0 : (double) singleChildNodes / nodeCount;
+    }
+
+    /**
+     * @return количество незанятых ячеек в массивах детей
+     */
+    public long getUnusedSlots() {
+        return unusedSlots;
+    }
+
+    /**
+     * @return оценка памяти, удерживаемой узлами дерева, в байтах
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * @return оценка памяти на одно слово в байтах
+     */
+    public double getBytesPerWord() {
+        return wordCount == 0 ? 0 : (double) estimatedBytes / wordCount;
+    }
+
+    /**
+     * @return время снятия снимка в миллисекундах от эпохи
+     */
+    public long getCollectedAt() {
+        return collectedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrieStats{nodes=%d, words=%d, maxDepth=%d, avgWordLength=%.2f, "
+                + "fanOut=%s, singleChildShare=%.3f, unusedSlots=%d, estimatedBytes=%d}",
+                nodeCount, wordCount, maxDepth, averageWordLength, Arrays.toString(fanOutHistogram),
+                getSingleChildChainShare(), unusedSlots, estimatedBytes);
+    }
+}
@@ -0,0 +1,31 @@
+package Trie;
+
+/**
+ * Интерфейс управления для публикации статистики {@link Trie} через JMX.
+ * Значения берутся из последнего снимка {@link TrieStats}, см. {@link TrieStatsMonitor}.
+ */
+public interface TrieStatsMXBean {
+
+    long getNodeCount();
+
+    long getWordCount();
+
+    int getMaxDepth();
+
+    double getAverageWordLength();
+
+    long[] getFanOutHistogram();
+
+    double getSingleChildChainShare();
+
+    long getUnusedSlots();
+
+    long getEstimatedBytes();
+
+    double getBytesPerWord();
+
+    /**
+     * @return время снятия снимка в миллисекундах от эпохи
+     */
+    long getSnapshotTime();
+}
@@ -0,0 +1,127 @@
+package Trie;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Публикация статистики дерева в JMX.
+ * Trie не потокобезопасно, поэтому сбор статистики не выполняется из потока JMX:
+ * владелец дерева вызывает {@link #refresh()} в своём потоке (например, после загрузки
+ * или по таймеру), а атрибуты MBean читают последний опубликованный снимок.
+ */
+public class TrieStatsMonitor implements TrieStatsMXBean {
+
+    private final Trie trie;
+    // Неизменяемый снимок вместе со временем публикуется одной записью
+    private volatile TrieStats snapshot;
+
+    public TrieStatsMonitor(Trie trie) {
+        this.trie = trie;
+        refresh();
+    }
+
+    /**
+     * Пересчёт статистики; вызывается потоком, владеющим деревом
+     *
+     * @return новый снимок
+     */
+    public TrieStats refresh() {
+        TrieStats stats = trie.stats();
+        snapshot = stats;
+        return stats;
+    }
+
+    /**
+     * Регистрация в платформенном MBean-сервере под именем Trie:type=TrieStats,name=name
+     *
+     * @param name имя экземпляра, например название словаря
+     * @return имя зарегистрированного объекта
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("Trie:type=TrieStats,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Снятие регистрации, если объект зарегистрирован
+     *
+     * @param objectName имя, полученное от {@link #register(String)}
+     */
+    public static void unregister(ObjectName objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    @Override
+    public long getNodeCount() {
+        return snapshot.getNodeCount();
+    }
+
+    @Override
+    public long getWordCount() {
+        return snapshot.getWordCount();
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return snapshot.getMaxDepth();
+    }
+
+    @Override
+    public double getAverageWordLength() {
+        return snapshot.getAverageWordLength();
+    }
+
+    @Override
+    public long[] getFanOutHistogram() {
+        return snapshot.getFanOutHistogram();
+    }
+
+    @Override
+    public double getSingleChildChainShare() {
+        return snapshot.getSingleChildChainShare();
+    }
+
+    @Override
+    public long getUnusedSlots() {
+        return snapshot.getUnusedSlots();
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return snapshot.getEstimatedBytes();
+    }
+
+    @Override
+    public double getBytesPerWord() {
+        return snapshot.getBytesPerWord();
+    }
+
+    @Override
+    public long getSnapshotTime() {
+        return snapshot.getCollectedAt();
+    }
+
+    // Пример использования
+    public static void main(String[] args) throws JMException {
+        Trie trie = new Trie();
+        trie.insert("apple");
+        trie.insert("app");
+        trie.insert("banana");
+
+        TrieStatsMonitor monitor = new TrieStatsMonitor(trie);
+        ObjectName name = monitor.register("fruits");
+        System.out.println("Registered: " + name);
+
+        trie.insert("band");
+        System.out.println("Refreshed: " + monitor.refresh());
+        System.out.println("Estimated bytes via JMX: "
+                + ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EstimatedBytes"));
+        unregister(name);
+    }
+}
@@ -0,0 +1,439 @@
+package Trie;
+
+import java.util.*;
+
+/**
+ * Префиксное дерево с весами слов для автодополнения.
+ * Каждый узел хранит кэш из не более чем maxK лучших по весу слов своего поддерева,
+ * поэтому {@link #topK} отвечает за O(|prefix| + k), независимо от размера поддерева.
+ * Кэши поддерживаются при вставке, изменении веса и удалении.
+ */
+public class WeightedTrie {
+
+    // Слово с весом; один и тот же объект разделяется кэшами всех узлов на пути к слову
+    private static final class Entry {
+        private final String word;
+        private final long weight;
+
+        private Entry(String word, long weight) {
+            this.word = word;
+            this.weight = weight;
+        }
+    }
+
+    // Порядок в кэше: по убыванию веса, при равном весе — лексикографически
+    private static final Comparator<Entry> BY_WEIGHT = (a, b) -> {
+        int cmp = Long.compare(b.weight, a.weight);
+        return cmp != 0 ? cmp : a.word.compareTo(b.word);
+    };
+
+    // Узел дерева: дети в отсортированных массивах, вес слова и кэш лучших слов поддерева
+    private static class WeightedNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final WeightedNode[] NO_CHILDREN = new WeightedNode[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] keys;
+        private WeightedNode[] children;
+        private int childCount;
+        private Entry entry;
+        private Entry[] top;
+        private int topCount;
+
+        public WeightedNode() {
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.childCount = 0;
+            this.entry = null;
+            this.top = NO_ENTRIES;
+            this.topCount = 0;
+        }
+
+        private int indexOf(char c) {
+            return Arrays.binarySearch(keys, 0, childCount, c);
+        }
+
+        private WeightedNode getChild(char c) {
+            int index = indexOf(c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private WeightedNode getOrAddChild(char c) {
+            int index = indexOf(c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = childCount < 4 ? childCount + 1 : childCount + (childCount >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+
+            WeightedNode child = new WeightedNode();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int index = indexOf(c);
+            if (index < 0) {
+                return;
+            }
+
+            childCount--;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index);
+            System.arraycopy(children, index + 1, children, index, childCount - index);
+            children[childCount] = null;
+        }
+
+        private int indexInTop(String word) {
+            for (int i = 0; i < topCount; i++) {
+                if (top[i].word.equals(word)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeFromTop(int index) {
+            topCount--;
+            System.arraycopy(top, index + 1, top, index, topCount - index);
+            top[topCount] = null;
+        }
+
+        /**
+         * Вставка в кэш с сохранением порядка; худший элемент вытесняется при переполнении
+         */
+        private void offerToTop(Entry candidate, int maxK) {
+            if (topCount == maxK && BY_WEIGHT.compare(candidate, top[topCount - 1]) >= 0) {
+                return;
+            }
+            if (top.length < maxK && topCount == top.length) {
+                top = Arrays.copyOf(top, Math.min(maxK, Math.max(1, topCount * 2)));
+            }
+
+            int insertAt = topCount == maxK ? topCount - 1 : topCount;
+            while (insertAt > 0 && BY_WEIGHT.compare(candidate, top[insertAt - 1]) < 0) {
+                top[insertAt] = top[insertAt - 1];
+                insertAt--;
+            }
+            top[insertAt] = candidate;
+            if (topCount < maxK) {
+                topCount++;
+            }
+        }
+    }
+
+    private static final int DEFAULT_MAX_K = 10;
+
+    private final WeightedNode root;
+    private final int maxK;
+
+    public WeightedTrie() {
+        this(DEFAULT_MAX_K);
+    }
+
+    /**
+     * @param maxK размер кэша лучших слов в каждом узле (наибольшее k для {@link #topK})
+     */
+    public WeightedTrie(int maxK) {
+        if (maxK <= 0) {
+            throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        }
+        this.root = new WeightedNode();
+        this.maxK = maxK;
+    }
+
+    /**
+     * Вставка слова с весом. Если слово уже есть, его вес заменяется.
+     *
+     * @param word   слово для вставки
+     * @param weight неотрицательный вес слова (частота, рейтинг)
+     * @throws IllegalArgumentException если вес отрицательный
+     */
+    public void insert(String word, long weight) {
+        if (weight < 0) {
+            // Отрицательное значение зарезервировано в getWeight для отсутствующего слова
+            throw new IllegalArgumentException("Вес не может быть отрицательным");
+        }
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+
+        WeightedNode[] path = new WeightedNode[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].getOrAddChild(word.charAt(i));
+        }
+
+        WeightedNode last = path[word.length()];
+        Entry previous = last.entry;
+        Entry updated = new Entry(word, weight);
+        last.entry = updated;
+
+        if (previous == null || weight >= previous.weight) {
+            // Вес вырос: новый кэш — старый кэш плюс обновлённое слово
+            for (WeightedNode node : path) {
+                int index = node.indexInTop(word);
+                if (index >= 0) {
+                    node.removeFromTop(index);
+                }
+                node.offerToTop(updated, maxK);
+            }
+        } else {
+            // Вес уменьшился: кэши, где было слово, пересобираем снизу вверх
+            for (int depth = word.length(); depth >= 0; depth--) {
+                WeightedNode node = path[depth];
+                if (node.indexInTop(word) < 0) {
+                    break;
+                }
+                rebuildTop(node);
+            }
+        }
+    }
+
+    /**
+     * Вставка слова с нулевым весом (вес существующего слова не меняется)
+     *
+     * @param word слово для вставки
+     */
+    public void insert(String word) {
+        if (word == null || word.isEmpty() || contains(word)) {
+            return;
+        }
+        insert(word, 0);
+    }
+
+    /**
+     * Получение k самых тяжёлых слов с данным префиксом
+     *
+     * @param prefix префикс для поиска
+     * @param k      количество слов; ограничено размером кэша узла
+     * @return слова по убыванию веса
+     */
+    public List<String> topK(String prefix, int k) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null || k <= 0) {
+            return result;
+        }
+
+        WeightedNode node = findNode(prefix);
+        if (node != null) {
+            int count = Math.min(k, node.topCount);
+            for (int i = 0; i < count; i++) {
+                result.add(node.top[i].word);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Получение веса слова
+     *
+     * @param word слово
+     * @return вес слова (всегда неотрицательный) или -1, если слова нет в дереве
+     */
+    public long getWeight(String word) {
+        if (word == null || word.isEmpty()) {
+            return -1;
+        }
+
+        WeightedNode node = findNode(word);
+        return node != null && node.entry != null ? node.entry.weight : -1;
+    }
+
+    /**
+     * Проверка наличия слова в дереве
+     *
+     * @param word слово для проверки
+     * @return true если слово существует, false в противном случае
+     */
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        WeightedNode node = findNode(word);
+        return node != null && node.entry != null;
+    }
+
+    /**
+     * Проверка существования слов с данным префиксом
+     *
+     * @param prefix префикс для проверки
+     * @return true если есть слова с таким префиксом, false в противном случае
+     */
+    public boolean startsWith(String prefix) {
+        if (prefix == null) {
+            return false;
+        }
+
+        return findNode(prefix) != null;
+    }
+
+    /**
+     * Получение всех слов по префиксу
+     *
+     * @param prefix префикс для поиска
+     * @return список всех слов, начинающихся с данного префикса
+     */
+    public List<String> getByPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        if (prefix == null) {
+            return result;
+        }
+
+        WeightedNode node = findNode(prefix);
+        if (node != null) {
+            collectWords(node, result);
+        }
+
+        return result;
+    }
+
+    private WeightedNode findNode(String str) {
+        WeightedNode current = root;
+        for (int i = 0; i < str.length() && current != null; i++) {
+            current = current.getChild(str.charAt(i));
+        }
+        return current;
+    }
+
+    private void collectWords(WeightedNode node, List<String> result) {
+        if (node.entry != null) {
+            result.add(node.entry.word);
+        }
+
+        for (int i = 0; i < node.childCount; i++) {
+            collectWords(node.children[i], result);
+        }
+    }
+
+    /**
+     * Удаление слова из дерева
+     *
+     * @param word слово для удаления
+     * @return true если слово было удалено, false если слово не найдено
+     */
+    public boolean remove(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+
+        WeightedNode[] path = new WeightedNode[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].getChild(word.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+
+        WeightedNode last = path[word.length()];
+        if (last.entry == null) {
+            return false;
+        }
+        last.entry = null;
+
+        for (int depth = word.length(); depth >= 0; depth--) {
+            WeightedNode node = path[depth];
+            if (depth < word.length()) {
+                WeightedNode child = path[depth + 1];
+                // Если дочерний узел пустой и не является концом слова, удаляем его
+                if (child.childCount == 0 && child.entry == null) {
+                    node.removeChild(word.charAt(depth));
+                }
+            }
+            if (node.indexInTop(word) >= 0) {
+                rebuildTop(node);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Пересборка кэша узла из собственного слова и кэшей детей
+     */
+    private void rebuildTop(WeightedNode node) {
+        node.top = WeightedNode.NO_ENTRIES;
+        node.topCount = 0;
+        if (node.entry != null) {
+            node.offerToTop(node.entry, maxK);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            WeightedNode child = node.children[i];
+            for (int j = 0; j < child.topCount; j++) {
+                Entry candidate = child.top[j];
+                if (node.topCount == maxK && BY_WEIGHT.compare(candidate, node.top[maxK - 1]) >= 0) {
+                    // Кэш ребёнка упорядочен — дальше только более лёгкие слова
+                    break;
+                }
+                node.offerToTop(candidate, maxK);
+            }
+        }
+    }
+
+    /**
+     * Получение количества слов в дереве
+     *
+     * @return количество слов
+     */
+    public int size() {
+        return countWords(root);
+    }
+
+    private int countWords(WeightedNode node) {
+        int count = node.entry != null ? 1 : 0;
+        for (int i = 0; i < node.childCount; i++) {
+            count += countWords(node.children[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Проверка, пусто ли дерево
+     *
+     * @return true если дерево пустое, false в противном случае
+     */
+    public boolean isEmpty() {
+        return root.childCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        List<String> allWords = getByPrefix("");
+        return "WeightedTrie{words=" + allWords + "}";
+    }
+
+    // Пример использования
+    public static void main(String[] args) {
+        WeightedTrie trie = new WeightedTrie(3);
+
+        trie.insert("apple", 50);
+        trie.insert("app", 120);
+        trie.insert("application", 80);
+        trie.insert("apply", 10);
+        trie.insert("banana", 30);
+
+        System.out.println("Top 3 for 'ap': " + trie.topK("ap", 3)); // [app, application, apple]
+
+        trie.insert("apply", 200);
+        System.out.println("Top 3 after 'apply' boost: " + trie.topK("ap", 3)); // [apply, app, application]
+
+        trie.remove("app");
+        System.out.println("Top 3 after removing 'app': " + trie.topK("ap", 3)); // [apply, application, apple]
+        System.out.println("Top 2 for '': " + trie.topK("", 2));
+    }
+}
@@ -0,0 +1,270 @@
+package Trie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Скомпилированный шаблон для {@link Trie#wildcardSearch(String)}.
+ * Поддерживаются {@code ?} — любой символ, {@code *} — любая (в том числе пустая)
+ * последовательность, классы {@code [abc]}, {@code [a-z]} и их отрицание {@code [!a-z]} или
+ * {@code [^a-z]}; {@code \} экранирует следующий символ.
+ *
+ * <p>Шаблон — недетерминированный автомат: состояние i означает, что сопоставлены первые i
+ * элементов шаблона. Множество состояний хранится битовой маской, по одной на уровень
+ * обхода дерева, поэтому спуск на символ не выделяет память.
+ */
+final class WildcardPattern {
+
+    private static final byte LITERAL = 0;
+    private static final byte ANY = 1;
+    private static final byte STAR = 2;
+    private static final byte CLASS = 3;
+
+    private final byte[] kinds;
+    private final char[] literals;
+    // Для классов: пары границ диапазонов [lo0, hi0, lo1, hi1, ...]
+    private final char[][] ranges;
+    private final boolean[] negated;
+    // Число элементов шаблона; состояние length — допускающее
+    private final int length;
+    // Начало хвоста из одних звёздочек (length + 1, если шаблон не оканчивается на *)
+    private final int starTail;
+    private final int words;
+
+    private WildcardPattern(byte[] kinds, char[] literals, char[][] ranges, boolean[] negated, int length) {
+        this.kinds = kinds;
+        this.literals = literals;
+        this.ranges = ranges;
+        this.negated = negated;
+        this.length = length;
+        int tail = length;
+        while (tail > 0 && kinds[tail - 1] == STAR) {
+            tail--;
+        }
+        this.starTail = tail == length ? length + 1 : tail;
+        this.words = (length + 1 + 63) >>> 6;
+    }
+
+    /**
+     * Разбор шаблона
+     *
+     * @param pattern текст шаблона
+     * @return скомпилированный шаблон
+     * @throws IllegalArgumentException если класс символов не закрыт или пуст
+     */
+    static WildcardPattern compile(String pattern) {
+        int n = pattern.length();
+        byte[] kinds = new byte[n];
+        char[] literals = new char[n];
+        char[][] ranges = new char[n][];
+        boolean[] negated = new boolean[n];
+        int length = 0;
+
+        int i = 0;
+        while (i < n) {
+            char c = pattern.charAt(i++);
+            if (c == '*') {
+                // Несколько звёздочек подряд эквивалентны одной
+                if (length == 0 || kinds[length - 1] != STAR) {
+                    kinds[length++] = STAR;
+                }
+            } else if (c == '?') {
+                kinds[length++] = ANY;
+            } else if (c == '[') {
+                i = parseClass(pattern, i, length, ranges, negated);
+                kinds[length++] = CLASS;
+            } else {
+                if (c == '\\') {
+                    if (i == n) {
+                        throw new IllegalArgumentException("Шаблон оканчивается символом экранирования: " + pattern);
+                    }
+                    c = pattern.charAt(i++);
+                }
+                kinds[length] = LITERAL;
+                literals[length++] = c;
+            }
+        }
+
+        return new WildcardPattern(kinds, literals, ranges, negated, length);
+    }
+
+    /**
+     * Разбор класса символов после '['; возвращает позицию после ']'
+     */
+    private static int parseClass(String pattern, int i, int token, char[][] ranges, boolean[] negated) {
+        int n = pattern.length();
+        if (i < n && (pattern.charAt(i) == '!' || pattern.charAt(i) == '^')) {
+            negated[token] = true;
+            i++;
+        }
+
+        List<Character> bounds = new ArrayList<>();
+        while (i < n && pattern.charAt(i) != ']') {
+            char lo = pattern.charAt(i++);
+            if (lo == '\\' && i < n) {
+                lo = pattern.charAt(i++);
+            }
+            char hi = lo;
+            if (i + 1 < n && pattern.charAt(i) == '-' && pattern.charAt(i + 1) != ']') {
+                hi = pattern.charAt(i + 1);
+                i += 2;
+                if (hi == '\\' && i < n) {
+                    hi = pattern.charAt(i++);
+                }
+                if (hi < lo) {
+                    throw new IllegalArgumentException("Неверный диапазон " + lo + "-" + hi + " в шаблоне: " + pattern);
+                }
+            }
+            bounds.add(lo);
+            bounds.add(hi);
+        }
+        if (i == n) {
+            throw new IllegalArgumentException("Класс символов не закрыт: " + pattern);
+        }
+        if (bounds.isEmpty()) {
+            throw new IllegalArgumentException("Пустой класс символов: " + pattern);
+        }
+
+        char[] result = new char[bounds.size()];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = bounds.get(k);
+        }
+        ranges[token] = result;
+        return i + 1;
+    }
+
+    /**
+     * @return размер битовой маски множества состояний в словах long
+     */
+    int words() {
+        return words;
+    }
+
+    /**
+     * Начальное множество состояний
+     */
+    void start(long[] set) {
+        Arrays.fill(set, 0L);
+        set[0] = 1L;
+        closure(set);
+    }
+
+    /**
+     * Переход множества from по символу c в множество to
+     *
+     * @return false если ни одно состояние не уцелело и ветвь можно отсечь
+     */
+    boolean step(long[] from, char c, long[] to) {
+        Arrays.fill(to, 0L);
+        boolean alive = false;
+        for (int i = 0; i < length; i++) {
+            if (!contains(from, i)) {
+                continue;
+            }
+            if (kinds[i] == STAR) {
+                add(to, i);
+                alive = true;
+            } else if (matches(i, c)) {
+                add(to, i + 1);
+                alive = true;
+            }
+        }
+        if (alive) {
+            closure(to);
+        }
+        return alive;
+    }
+
+    /**
+     * @return true если множество содержит допускающее состояние
+     */
+    boolean accepts(long[] set) {
+        return contains(set, length);
+    }
+
+    /**
+     * @return true если дальше подходит любое продолжение (остались только звёздочки)
+     */
+    boolean acceptsAnySuffix(long[] set) {
+        for (int i = starTail; i < length; i++) {
+            if (contains(set, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Если единственное активное состояние ждёт литерал или один непрерывный диапазон,
+     * записывает его границы в bounds, чтобы обход мог найти детей бинарным поиском
+     * вместо перебора всех рёбер.
+     *
+     * @return true если границы записаны
+     */
+    boolean singleRange(long[] set, char[] bounds) {
+        int state = -1;
+        for (int w = 0; w < set.length; w++) {
+            if (set[w] == 0) {
+                continue;
+            }
+            if (state >= 0 || Long.bitCount(set[w]) > 1) {
+                return false;
+            }
+            state = (w << 6) + Long.numberOfTrailingZeros(set[w]);
+        }
+
+        if (state < 0 || state == length) {
+            return false;
+        }
+        if (kinds[state] == LITERAL) {
+            bounds[0] = literals[state];
+            bounds[1] = literals[state];
+            return true;
+        }
+        if (kinds[state] == CLASS && !negated[state] && ranges[state].length == 2) {
+            bounds[0] = ranges[state][0];
+            bounds[1] = ranges[state][1];
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matches(int token, char c) {
+        switch (kinds[token]) {
+            case LITERAL:
+                return literals[token] == c;
+            case ANY:
+                return true;
+            case CLASS:
+                char[] bounds = ranges[token];
+                boolean inside = false;
+                for (int k = 0; k < bounds.length && !inside; k += 2) {
+                    inside = c >= bounds[k] && c <= bounds[k + 1];
+                }
+                return inside != negated[token];
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Звёздочка допускает пустую последовательность: из её состояния сразу доступно следующее.
+     * Переходы идут только вперёд, поэтому достаточно одного прохода по возрастанию.
+     */
+    private void closure(long[] set) {
+        for (int i = 0; i < length; i++) {
+            if (kinds[i] == STAR && contains(set, i)) {
+                add(set, i + 1);
+            }
+        }
+    }
+
+    private static boolean contains(long[] set, int state) {
+        return (set[state >>> 6] & (1L << state)) != 0;
+    }
+
+    private static void add(long[] set, int state) {
+        set[state >>> 6] |= 1L << state;
+    }
+}
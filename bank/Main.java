@@ -1,15 +1,20 @@
 package bank;
 
+import bank.service.BankEngine;
 import bank.service.BankService;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
  * Главный класс банковского приложения
- * Реализует консольное меню для управления счетами
+ * Реализует консольное меню для управления счетами.
+ * Операции сохраняются в журнал и восстанавливаются при следующем запуске.
  */
 public class Main {
-    private static final BankService bankService = new BankService();
+    private static final String JOURNAL_FILE = "bank.journal";
+    private static BankService bankService;
     private static final Scanner scanner = new Scanner(System.in);
 
     // Константы меню
@@ -20,10 +25,21 @@ public class Main {
     private static final int SHOW_TRANSACTIONS = 5;
     private static final int SEARCH_TRANSACTIONS = 6;
     private static final int SHOW_ALL_ACCOUNTS = 7;
+    private static final int TRANSFER = 8;
     private static final int EXIT = 0;
 
     public static void main(String[] args) {
         System.out.println("=== БАНКОВСКАЯ СИСТЕМА ===");
+
+        BankEngine engine;
+        try {
+            engine = BankEngine.open(Paths.get(JOURNAL_FILE));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Не удалось открыть журнал " + JOURNAL_FILE + ": " + e.getMessage());
+            return;
+        }
+        bankService = new BankService(engine);
+        System.out.println("Восстановлено счетов: " + engine.getAccountCount());
         showMenu();
 
         boolean running = true;
@@ -54,6 +70,9 @@ public class Main {
                     case SHOW_ALL_ACCOUNTS:
                         bankService.showAllAccounts();
                         break;
+                    case TRANSFER:
+                        bankService.transfer();
+                        break;
                     case EXIT:
                         running = false;
                         System.out.println("Выход из системы. До свидания!");
@@ -62,13 +81,18 @@ public class Main {
                         System.out.println("Неверный выбор! Попробуйте снова.");
                 }
             } catch (NumberFormatException e) {
-                System.out.println("Ошибка: введите число от 0 до 7!");
+                System.out.println("Ошибка: введите число от 0 до 8!");
             } catch (Exception e) {
                 System.out.println("Произошла непредвиденная ошибка: " + e.getMessage());
             }
         }
 
         scanner.close();
+        try {
+            engine.close();
+        } catch (IOException e) {
+            System.out.println("Ошибка при закрытии журнала: " + e.getMessage());
+        }
     }
 
     /**
@@ -83,6 +107,7 @@ public class Main {
         System.out.println(SHOW_TRANSACTIONS + ". История транзакций");
         System.out.println(SEARCH_TRANSACTIONS + ". Поиск транзакций");
         System.out.println(SHOW_ALL_ACCOUNTS + ". Показать все счета");
+        System.out.println(TRANSFER + ". Перевод между счетами");
         System.out.println(EXIT + ". Выход");
     }
 }
\ No newline at end of file
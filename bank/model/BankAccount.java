@@ -1,24 +1,46 @@
 package bank.model;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Класс для представления банковского счёта
+ * Класс для представления банковского счёта.
+ * Все суммы — в копейках (см. {@link Money}).
+ * Потокобезопасен без блокировок: баланс меняется через compare-and-set,
+ * поэтому одновременные операции не теряют обновлений и не уводят счёт в минус,
+ * а журнал транзакций допускает одновременное добавление из многих потоков.
+ * Переводы и закрытие счёта дополнительно берут блокировку счёта, чтобы счёт
+ * не закрылся между списанием и зачислением перевода.
  */
 public class BankAccount {
     private final String accountNumber;
-    private double balance;
-    private boolean isActive;
-    private final List<Transaction> transactions;
+    // Баланс в копейках
+    private final AtomicLong balance;
+    private volatile boolean isActive;
+    private final Queue<Transaction> transactions;
     private final String ownerName;
+    private final ReentrantLock lock;
 
     // Константы для типов транзакций
     public static final String DEPOSIT = "ПОПОЛНЕНИЕ";
     public static final String WITHDRAWAL = "СНЯТИЕ";
     public static final String ACCOUNT_OPENED = "ОТКРЫТИЕ СЧЕТА";
+    public static final String TRANSFER_OUT = "ПЕРЕВОД (СПИСАНИЕ)";
+    public static final String TRANSFER_IN = "ПЕРЕВОД (ЗАЧИСЛЕНИЕ)";
 
-    public BankAccount(String accountNumber, String ownerName, double initialDeposit) {
+    public BankAccount(String accountNumber, String ownerName, long initialDeposit) {
+        this(accountNumber, ownerName, initialDeposit, LocalDateTime.now());
+    }
+
+    /**
+     * Счет с заданным временем открытия, например восстановленный из журнала
+     */
+    public BankAccount(String accountNumber, String ownerName, long initialDeposit, LocalDateTime openedAt) {
         if (accountNumber == null || accountNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Номер счета не может быть пустым");
         }
@@ -31,47 +53,156 @@ public class BankAccount {
 
         this.accountNumber = accountNumber;
         this.ownerName = ownerName;
-        this.balance = initialDeposit;
+        this.balance = new AtomicLong(initialDeposit);
         this.isActive = true;
-        this.transactions = new ArrayList<>();
+        this.transactions = new ConcurrentLinkedQueue<>();
+        this.lock = new ReentrantLock();
 
         // Добавляем транзакцию открытия счета
         this.transactions.add(new Transaction(ACCOUNT_OPENED, initialDeposit,
-                "Открытие счета. Владелец: " + ownerName));
+                "Открытие счета. Владелец: " + ownerName, openedAt));
     }
 
     /**
      * Пополнение счета
      */
-    public void deposit(double amount) {
+    public void deposit(long amount) {
         validateActiveAccount();
         validatePositiveAmount(amount);
 
-        balance += amount;
-        transactions.add(new Transaction(DEPOSIT, amount, "Пополнение счета"));
+        credit(amount);
+        transactions.add(new Transaction(DEPOSIT, amount, describe(DEPOSIT, null)));
     }
 
     /**
      * Снятие денег со счета
      */
-    public boolean withdraw(double amount) {
+    public boolean withdraw(long amount) {
         validateActiveAccount();
         validatePositiveAmount(amount);
 
-        if (amount > balance) {
+        if (!tryDebit(amount)) {
             return false; // Недостаточно средств
         }
+        transactions.add(new Transaction(WITHDRAWAL, amount, describe(WITHDRAWAL, null)));
+        return true;
+    }
+
+    /**
+     * Атомарный перевод между счетами.
+     * Блокировки счетов берутся в порядке номеров счетов, поэтому встречные переводы
+     * A→B и B→A не могут взаимно заблокироваться. Деньги либо списываются и зачисляются
+     * оба раза, либо перевод не выполняется вовсе.
+     *
+     * @return true если перевод выполнен, false если на счёте-источнике недостаточно средств
+     */
+    public static boolean transfer(BankAccount from, BankAccount to, long amount) {
+        if (from.accountNumber.equals(to.accountNumber)) {
+            throw new IllegalArgumentException("Нельзя перевести деньги на тот же счет");
+        }
+        from.validatePositiveAmount(amount);
+
+        boolean fromFirst = from.accountNumber.compareTo(to.accountNumber) < 0;
+        BankAccount first = fromFirst ? from : to;
+        BankAccount second = fromFirst ? to : from;
+        first.lock.lock();
+        try {
+            second.lock.lock();
+            try {
+                from.validateActiveAccount();
+                to.validateActiveAccount();
+                if (!from.tryDebit(amount)) {
+                    return false;
+                }
+                // Под блокировками счёт-получатель не может закрыться; откат нужен только при переполнении
+                try {
+                    to.credit(amount);
+                } catch (ArithmeticException e) {
+                    from.credit(amount);
+                    throw e;
+                }
+                from.transactions.add(new Transaction(TRANSFER_OUT, amount, describe(TRANSFER_OUT, to.accountNumber)));
+                to.transactions.add(new Transaction(TRANSFER_IN, amount, describe(TRANSFER_IN, from.accountNumber)));
+                return true;
+            } finally {
+                second.lock.unlock();
+            }
+        } finally {
+            first.lock.unlock();
+        }
+    }
 
-        balance -= amount;
-        transactions.add(new Transaction(WITHDRAWAL, amount, "Снятие наличных"));
+    /**
+     * Повторное применение уже выполненной операции при восстановлении из журнала.
+     * Журнал содержит только успешные операции, а записи по одному счёту идут в порядке
+     * их выполнения, поэтому восстановление проходит через те же зачисление и списание,
+     * что и обычные операции. Переполнение или уход в минус означают несогласованный
+     * журнал и дают исключение вместо молча искажённого баланса.
+     *
+     * @param type         тип транзакции (DEPOSIT, WITHDRAWAL, TRANSFER_OUT, TRANSFER_IN)
+     * @param amount       сумма в копейках
+     * @param counterparty номер второго счета для переводов, иначе null
+     * @param timestamp    время исходной операции
+     */
+    public void restore(String type, long amount, String counterparty, LocalDateTime timestamp) {
+        switch (type) {
+            case DEPOSIT:
+            case TRANSFER_IN:
+                credit(amount);
+                break;
+            case WITHDRAWAL:
+            case TRANSFER_OUT:
+                if (!tryDebit(amount)) {
+                    throw new IllegalStateException("Журнал списывает со счета " + accountNumber
+                            + " больше, чем на нём есть");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестный тип транзакции: " + type);
+        }
+        transactions.add(new Transaction(type, amount, describe(type, counterparty), timestamp));
+    }
+
+    private static String describe(String type, String counterparty) {
+        switch (type) {
+            case DEPOSIT:
+                return "Пополнение счета";
+            case WITHDRAWAL:
+                return "Снятие наличных";
+            case TRANSFER_OUT:
+                return "Перевод на счет " + counterparty;
+            case TRANSFER_IN:
+                return "Перевод со счета " + counterparty;
+            default:
+                return type;
+        }
+    }
+
+    // Переполнение баланса даёт ArithmeticException до изменения значения
+    private void credit(long amount) {
+        long current;
+        do {
+            current = balance.get();
+        } while (!balance.compareAndSet(current, Math.addExact(current, amount)));
+    }
+
+    // Проверка и списание в одном CAS: между ними баланс не может измениться
+    private boolean tryDebit(long amount) {
+        long current;
+        do {
+            current = balance.get();
+            if (amount > current) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - amount));
         return true;
     }
 
     /**
-     * Получение баланса
+     * Получение баланса в копейках
      */
-    public double getBalance() {
-        return balance;
+    public long getBalance() {
+        return balance.get();
     }
 
     /**
@@ -99,11 +230,18 @@ public class BankAccount {
      * Закрытие счета
      */
     public void closeAccount() {
-        this.isActive = false;
+        // Ждём завершения переводов, которые уже проверили активность счёта
+        lock.lock();
+        try {
+            this.isActive = false;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Получение списка транзакций (копии для защиты от изменений)
+     * Получение списка транзакций (копии для защиты от изменений).
+     * Транзакции одновременных операций могут идти не в порядке изменения баланса.
      */
     public List<Transaction> getTransactions() {
         return new ArrayList<>(transactions);
@@ -125,7 +263,7 @@ public class BankAccount {
     /**
      * Поиск транзакций по минимальной сумме
      */
-    public List<Transaction> findTransactionsByMinAmount(double minAmount) {
+    public List<Transaction> findTransactionsByMinAmount(long minAmount) {
         List<Transaction> result = new ArrayList<>();
         for (Transaction transaction : transactions) {
             if (transaction.getAmount() >= minAmount) {
@@ -142,7 +280,7 @@ public class BankAccount {
         }
     }
 
-    private void validatePositiveAmount(double amount) {
+    private void validatePositiveAmount(long amount) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Сумма должна быть положительной");
         }
@@ -150,7 +288,7 @@ public class BankAccount {
 
     @Override
     public String toString() {
-        return String.format("Счет: %s, Владелец: %s, Баланс: %.2f руб., Статус: %s",
-                accountNumber, ownerName, balance, isActive ? "активен" : "закрыт");
+        return String.format("Счет: %s, Владелец: %s, Баланс: %s руб., Статус: %s",
+                accountNumber, ownerName, Money.format(getBalance()), isActive ? "активен" : "закрыт");
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package bank.model;
+
+/**
+ * Денежные суммы в копейках.
+ * Суммы хранятся как long (количество копеек), поэтому сложение и вычитание точны
+ * и не выделяют памяти, в отличие от double (накапливает ошибку округления) и BigDecimal.
+ * Класс содержит только статические методы разбора и форматирования.
+ */
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Разбор суммы вида "123", "123.4" или "123,45" в копейки
+     *
+     * @param text текст суммы; пробелы по краям игнорируются
+     * @return сумма в копейках
+     * @throws NumberFormatException если текст не является суммой с не более чем двумя знаками после запятой
+     */
+    public static long parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("Сумма не указана");
+        }
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long units = 0;
+        int i = start;
+        while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            units = Math.addExact(Math.multiplyExact(units, 10), text.charAt(i) - '0');
+            i++;
+        }
+        boolean hasUnits = i > start;
+
+        long cents = 0;
+        int fractionDigits = 0;
+        if (i < end && (text.charAt(i) == '.' || text.charAt(i) == ',')) {
+            i++;
+            while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                if (++fractionDigits > 2) {
+                    throw new NumberFormatException("Сумма не может содержать больше двух знаков после запятой: " + text);
+                }
+                cents = cents * 10 + (text.charAt(i) - '0');
+                i++;
+            }
+        }
+        if (i != end || (!hasUnits && fractionDigits == 0)) {
+            throw new NumberFormatException("Некорректная сумма: " + text);
+        }
+        if (fractionDigits == 1) {
+            cents *= 10;
+        }
+
+        long total = Math.addExact(Math.multiplyExact(units, CENTS_PER_UNIT), cents);
+        return negative ? -total : total;
+    }
+
+    /**
+     * Форматирование суммы в виде "1234.50"
+     *
+     * @param cents сумма в копейках
+     * @return текст суммы с двумя знаками после точки
+     */
+    public static String format(long cents) {
+        long units = cents / CENTS_PER_UNIT;
+        long fraction = Math.abs(cents % CENTS_PER_UNIT);
+        StringBuilder builder = new StringBuilder(24);
+        if (cents < 0 && units == 0) {
+            builder.append('-');
+        }
+        builder.append(units).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+}
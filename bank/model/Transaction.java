@@ -8,17 +8,25 @@ import java.time.format.DateTimeFormatter;
  */
 public class Transaction {
     private final String type;
-    private final double amount;
+    // Сумма в копейках
+    private final long amount;
     private final LocalDateTime timestamp;
     private final String description;
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
 
-    public Transaction(String type, double amount, String description) {
+    public Transaction(String type, long amount, String description) {
+        this(type, amount, description, LocalDateTime.now());
+    }
+
+    /**
+     * Транзакция с заданным временем, например восстановленная из журнала
+     */
+    public Transaction(String type, long amount, String description, LocalDateTime timestamp) {
         this.type = type;
         this.amount = amount;
         this.description = description;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
     }
 
     // Геттеры
@@ -26,7 +34,7 @@ public class Transaction {
         return type;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
@@ -40,7 +48,7 @@ public class Transaction {
 
     @Override
     public String toString() {
-        return String.format("[%s] %s: %.2f руб. - %s",
-                timestamp.format(FORMATTER), type, amount, description);
+        return String.format("[%s] %s: %s руб. - %s",
+                timestamp.format(FORMATTER), type, Money.format(amount), description);
     }
 }
\ No newline at end of file
@@ -0,0 +1,404 @@
+package bank.service;
+
+import bank.model.BankAccount;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Банковские операции без консольного ввода-вывода.
+ * Каждая операция возвращает {@link OperationResult} вместо печати сообщений,
+ * поэтому движок используется и консольным {@link BankService}, и пакетной обработкой.
+ * Суммы — в копейках.
+ *
+ * <p>Движок, открытый через {@link #open(Path)}, записывает каждую успешную операцию
+ * в {@link TransactionJournal} и восстанавливает счета из журнала при запуске.
+ * Синхронные методы возвращают результат после сброса записи на диск; методы *Async
+ * сразу выполняют операцию в памяти и возвращают future, который завершается, когда
+ * запись надёжно сохранена. Операции многих потоков фиксируются на диске общими пачками.
+ * До завершения future результат не подтверждён: при сбое операция может не пережить
+ * перезапуск. Движок, созданный конструктором, хранит счета только в памяти.
+ *
+ * <p>После закрытия движка или первой ошибки записи журнала операции отклоняются
+ * со статусом {@link OperationResult.Status#UNAVAILABLE} и не меняют балансы, поэтому
+ * состояние в памяти не расходится с журналом. Только операции, выполнявшиеся
+ * одновременно с закрытием или сбоем, могут примениться в памяти с future, завершённым ошибкой.
+ *
+ * <p>В движке с журналом изменение баланса и постановка записи в журнал выполняются
+ * под монитором счета (перевод — под мониторами обоих счетов в порядке номеров). Поэтому
+ * операция, которая тратит деньги другой операции, всегда попадает в журнал после неё,
+ * и восстановление никогда не проходит через отрицательный баланс. Цена этого порядка —
+ * операции по одному счету выполняются по очереди, включая кодирование записи и её
+ * постановку в общую очередь журнала; операции по разным счетам пересекаются только
+ * на короткой синхронизированной постановке в очередь. Движок без журнала мониторы
+ * не берёт: баланс меняется через compare-and-set в {@link BankAccount}, и операции
+ * по горячему счету не выстраиваются в очередь.
+ *
+ * <p>Все операции, включая открытие счетов, можно вызывать из многих потоков одновременно.
+ */
+public class BankEngine implements Closeable {
+    // Счета по номеру: поиск и резервирование номера за O(1) без общей блокировки
+    private final Map<String, BankAccount> accounts;
+    // Те же счета в порядке открытия для обхода
+    private final Queue<BankAccount> openingOrder;
+    // null для движка без журнала
+    private TransactionJournal journal;
+
+    public BankEngine() {
+        this.accounts = new ConcurrentHashMap<>();
+        this.openingOrder = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Открытие движка с журналом: счета восстанавливаются из файла,
+     * новые операции дописываются в него
+     *
+     * @param journalFile путь к файлу журнала (создаётся, если его нет)
+     * @return движок с восстановленными счетами
+     */
+    public static BankEngine open(Path journalFile) throws IOException {
+        return open(journalFile, TransactionJournal.DEFAULT_MAX_BATCH_SIZE, TransactionJournal.DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Открытие движка с журналом и заданными параметрами групповой фиксации
+     *
+     * @param journalFile  путь к файлу журнала (создаётся, если его нет)
+     * @param maxBatchSize наибольшее число операций в одном сбросе на диск
+     * @param maxDelay     сколько ждать попутных операций перед сбросом
+     * @return движок с восстановленными счетами
+     */
+    public static BankEngine open(Path journalFile, int maxBatchSize, Duration maxDelay) throws IOException {
+        BankEngine engine = new BankEngine();
+        engine.journal = TransactionJournal.open(journalFile, engine::replay, maxBatchSize, maxDelay);
+        return engine;
+    }
+
+    /**
+     * Повторное применение записи журнала; несогласованный журнал даёт исключение
+     */
+    private void replay(JournalRecord record) {
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getTimestamp()),
+                ZoneId.systemDefault());
+        String accountNumber = record.getAccountNumber();
+        if (record.getType() == JournalRecord.Type.OPEN) {
+            BankAccount account = new BankAccount(accountNumber, record.getCounterparty(), record.getAmount(),
+                    timestamp);
+            if (accounts.putIfAbsent(accountNumber, account) != null) {
+                throw new IllegalStateException("Журнал повторно открывает счет: " + accountNumber);
+            }
+            openingOrder.add(account);
+            return;
+        }
+
+        BankAccount account = requireReplayAccount(accountNumber);
+        switch (record.getType()) {
+            case DEPOSIT:
+                account.restore(BankAccount.DEPOSIT, record.getAmount(), null, timestamp);
+                break;
+            case WITHDRAW:
+                account.restore(BankAccount.WITHDRAWAL, record.getAmount(), null, timestamp);
+                break;
+            case TRANSFER:
+                BankAccount to = requireReplayAccount(record.getCounterparty());
+                account.restore(BankAccount.TRANSFER_OUT, record.getAmount(), to.getAccountNumber(), timestamp);
+                to.restore(BankAccount.TRANSFER_IN, record.getAmount(), accountNumber, timestamp);
+                break;
+            default:
+                throw new IllegalStateException("Неизвестная запись журнала: " + record);
+        }
+    }
+
+    private BankAccount requireReplayAccount(String accountNumber) {
+        BankAccount account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new IllegalStateException("Журнал ссылается на неизвестный счет: " + accountNumber);
+        }
+        return account;
+    }
+
+    /**
+     * Постановка успешной операции в журнал; неуспешная возвращается сразу
+     *
+     * @return future с результатом, завершающийся после сброса записи на диск
+     */
+    private CompletableFuture<OperationResult> journal(JournalRecord.Type type, String accountNumber,
+            String counterparty, long amount, OperationResult result) {
+        if (journal == null || !result.isSuccess()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return journal.submit(new JournalRecord(type, System.currentTimeMillis(), accountNumber, counterparty, amount))
+                .thenApply(ignored -> result);
+    }
+
+    /**
+     * Ожидание подтверждения; ошибка ввода-вывода прерывает операцию,
+     * так как подтвердить её вызывающему уже нельзя
+     */
+    private static OperationResult await(CompletableFuture<OperationResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException("Не удалось записать операцию в журнал", (IOException) cause);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Открытие нового счета
+     */
+    public OperationResult openAccount(String accountNumber, String ownerName, long initialDeposit) {
+        return await(openAccountAsync(accountNumber, ownerName, initialDeposit));
+    }
+
+    /**
+     * Открытие нового счета с асинхронным подтверждением записи в журнал
+     */
+    public CompletableFuture<OperationResult> openAccountAsync(String accountNumber, String ownerName,
+            long initialDeposit) {
+        if (journal != null && !journal.isAccepting()) {
+            return CompletableFuture.completedFuture(unavailable(accountNumber));
+        }
+
+        BankAccount account;
+        try {
+            account = new BankAccount(accountNumber, ownerName, initialDeposit);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    OperationResult.failure(OperationResult.Status.INVALID, accountNumber, e.getMessage()));
+        }
+
+        // Номер резервируется до записи в журнал, поэтому из двух одновременных открытий
+        // в журнал попадает только одно. Другие операции, уже нашедшие счет, ждут на его мониторе,
+        // пока запись об открытии не встанет в очередь, и попадают в журнал после неё
+        synchronized (account) {
+            if (accounts.putIfAbsent(accountNumber, account) != null) {
+                return CompletableFuture.completedFuture(OperationResult.failure(OperationResult.Status.DUPLICATE,
+                        accountNumber, "Счет с таким номером уже существует"));
+            }
+
+            CompletableFuture<OperationResult> durable;
+            try {
+                durable = journal(JournalRecord.Type.OPEN, accountNumber, ownerName, initialDeposit,
+                        OperationResult.success(accountNumber, initialDeposit));
+            } catch (IllegalArgumentException e) {
+                // Счет закрывается до снятия резерва: операции, успевшие его найти, не попадут в журнал
+                account.closeAccount();
+                accounts.remove(accountNumber, account);
+                return CompletableFuture.completedFuture(
+                        OperationResult.failure(OperationResult.Status.INVALID, accountNumber, e.getMessage()));
+            }
+            openingOrder.add(account);
+            return durable;
+        }
+    }
+
+    /**
+     * Пополнение счета
+     */
+    public OperationResult deposit(String accountNumber, long amount) {
+        return await(depositAsync(accountNumber, amount));
+    }
+
+    /**
+     * Пополнение счета с асинхронным подтверждением записи в журнал
+     */
+    public CompletableFuture<OperationResult> depositAsync(String accountNumber, long amount) {
+        BankAccount account = findAccount(accountNumber);
+        if (account == null) {
+            return CompletableFuture.completedFuture(notFound(accountNumber));
+        }
+
+        if (journal == null) {
+            return CompletableFuture.completedFuture(applyDeposit(account, amount));
+        }
+        synchronized (account) {
+            if (!journal.isAccepting()) {
+                return CompletableFuture.completedFuture(unavailable(accountNumber));
+            }
+            OperationResult result = applyDeposit(account, amount);
+            return journal(JournalRecord.Type.DEPOSIT, accountNumber, "", amount, result);
+        }
+    }
+
+    private static OperationResult applyDeposit(BankAccount account, long amount) {
+        try {
+            account.deposit(amount);
+        } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+            return OperationResult.failure(OperationResult.Status.INVALID, account.getAccountNumber(), e.getMessage());
+        }
+        return OperationResult.success(account.getAccountNumber(), account.getBalance());
+    }
+
+    /**
+     * Снятие денег со счета
+     */
+    public OperationResult withdraw(String accountNumber, long amount) {
+        return await(withdrawAsync(accountNumber, amount));
+    }
+
+    /**
+     * Снятие денег со счета с асинхронным подтверждением записи в журнал
+     */
+    public CompletableFuture<OperationResult> withdrawAsync(String accountNumber, long amount) {
+        BankAccount account = findAccount(accountNumber);
+        if (account == null) {
+            return CompletableFuture.completedFuture(notFound(accountNumber));
+        }
+
+        if (journal == null) {
+            return CompletableFuture.completedFuture(applyWithdraw(account, amount));
+        }
+        synchronized (account) {
+            if (!journal.isAccepting()) {
+                return CompletableFuture.completedFuture(unavailable(accountNumber));
+            }
+            OperationResult result = applyWithdraw(account, amount);
+            return journal(JournalRecord.Type.WITHDRAW, accountNumber, "", amount, result);
+        }
+    }
+
+    private static OperationResult applyWithdraw(BankAccount account, long amount) {
+        try {
+            if (!account.withdraw(amount)) {
+                return OperationResult.failure(OperationResult.Status.INSUFFICIENT_FUNDS, account.getAccountNumber(),
+                        "Недостаточно средств на счете");
+            }
+        } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+            return OperationResult.failure(OperationResult.Status.INVALID, account.getAccountNumber(), e.getMessage());
+        }
+        return OperationResult.success(account.getAccountNumber(), account.getBalance());
+    }
+
+    /**
+     * Атомарный перевод между счетами
+     *
+     * @return результат с балансом счета-источника после перевода
+     */
+    public OperationResult transfer(String fromNumber, String toNumber, long amount) {
+        return await(transferAsync(fromNumber, toNumber, amount));
+    }
+
+    /**
+     * Атомарный перевод с асинхронным подтверждением записи в журнал
+     *
+     * @return future с результатом, содержащим баланс счета-источника после перевода
+     */
+    public CompletableFuture<OperationResult> transferAsync(String fromNumber, String toNumber, long amount) {
+        BankAccount from = findAccount(fromNumber);
+        if (from == null) {
+            return CompletableFuture.completedFuture(notFound(fromNumber));
+        }
+        BankAccount to = findAccount(toNumber);
+        if (to == null) {
+            return CompletableFuture.completedFuture(notFound(toNumber));
+        }
+
+        if (journal == null) {
+            return CompletableFuture.completedFuture(applyTransfer(from, to, amount));
+        }
+        // Мониторы берутся в порядке номеров счетов, как и блокировки в BankAccount.transfer
+        boolean fromFirst = fromNumber.compareTo(toNumber) < 0;
+        BankAccount first = fromFirst ? from : to;
+        BankAccount second = fromFirst ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (!journal.isAccepting()) {
+                    return CompletableFuture.completedFuture(unavailable(fromNumber));
+                }
+                OperationResult result = applyTransfer(from, to, amount);
+                return journal(JournalRecord.Type.TRANSFER, fromNumber, toNumber, amount, result);
+            }
+        }
+    }
+
+    private static OperationResult applyTransfer(BankAccount from, BankAccount to, long amount) {
+        try {
+            if (!BankAccount.transfer(from, to, amount)) {
+                return OperationResult.failure(OperationResult.Status.INSUFFICIENT_FUNDS, from.getAccountNumber(),
+                        "Недостаточно средств на счете");
+            }
+        } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+            return OperationResult.failure(OperationResult.Status.INVALID, from.getAccountNumber(), e.getMessage());
+        }
+        return OperationResult.success(from.getAccountNumber(), from.getBalance());
+    }
+
+    /**
+     * Запрос баланса
+     */
+    public OperationResult getBalance(String accountNumber) {
+        BankAccount account = findAccount(accountNumber);
+        if (account == null) {
+            return notFound(accountNumber);
+        }
+        return OperationResult.success(accountNumber, account.getBalance());
+    }
+
+    /**
+     * Поиск счета по номеру
+     *
+     * @return счет или null, если его нет
+     */
+    public BankAccount findAccount(String accountNumber) {
+        return accountNumber != null ? accounts.get(accountNumber) : null;
+    }
+
+    /**
+     * Проверка существования счета
+     */
+    public boolean hasAccount(String accountNumber) {
+        return findAccount(accountNumber) != null;
+    }
+
+    /**
+     * Все счета в порядке открытия (только для чтения)
+     */
+    public Collection<BankAccount> getAccounts() {
+        return Collections.unmodifiableCollection(openingOrder);
+    }
+
+    /**
+     * Количество открытых счетов
+     */
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Закрытие журнала; движок без журнала закрывать не обязательно
+     */
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private static OperationResult unavailable(String accountNumber) {
+        return OperationResult.failure(OperationResult.Status.UNAVAILABLE, accountNumber,
+                "Журнал не принимает записи, операция не выполнена");
+    }
+
+    private static OperationResult notFound(String accountNumber) {
+        return OperationResult.failure(OperationResult.Status.NOT_FOUND, accountNumber,
+                "Счет с номером '" + accountNumber + "' не найден");
+    }
+}
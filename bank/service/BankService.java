@@ -1,21 +1,26 @@
 package bank.service;
 
 import bank.model.BankAccount;
+import bank.model.Money;
 import bank.model.Transaction;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 /**
- * Сервис для управления банковскими операциями
+ * Сервис для управления банковскими операциями.
+ * Отвечает за диалог с пользователем; сами операции выполняет {@link BankEngine}.
  */
 public class BankService {
-    private final List<BankAccount> accounts;
+    private final BankEngine engine;
     private final Scanner scanner;
 
     public BankService() {
-        this.accounts = new ArrayList<>();
+        this(new BankEngine());
+    }
+
+    public BankService(BankEngine engine) {
+        this.engine = engine;
         this.scanner = new Scanner(System.in);
     }
 
@@ -29,7 +34,7 @@ public class BankService {
         String accountNumber = scanner.nextLine().trim();
 
         // Проверка уникальности номера счета
-        if (findAccountByNumber(accountNumber) != null) {
+        if (engine.hasAccount(accountNumber)) {
             System.out.println("Ошибка: счет с таким номером уже существует!");
             return;
         }
@@ -37,15 +42,14 @@ public class BankService {
         System.out.print("Введите имя владельца: ");
         String ownerName = scanner.nextLine().trim();
 
-        double initialDeposit = readPositiveDouble("Введите начальный депозит: ");
+        long initialDeposit = readPositiveAmount("Введите начальный депозит: ");
 
-        try {
-            BankAccount newAccount = new BankAccount(accountNumber, ownerName, initialDeposit);
-            accounts.add(newAccount);
+        OperationResult result = engine.openAccount(accountNumber, ownerName, initialDeposit);
+        if (result.isSuccess()) {
             System.out.println("Счет успешно открыт!");
-            System.out.println(newAccount);
-        } catch (IllegalArgumentException e) {
-            System.out.println("Ошибка при открытии счета: " + e.getMessage());
+            System.out.println(engine.findAccount(accountNumber));
+        } else {
+            System.out.println("Ошибка при открытии счета: " + result.getMessage());
         }
     }
 
@@ -57,14 +61,14 @@ public class BankService {
         if (account == null)
             return;
 
-        double amount = readPositiveDouble("Введите сумму для пополнения: ");
+        long amount = readPositiveAmount("Введите сумму для пополнения: ");
 
-        try {
-            account.deposit(amount);
-            System.out.printf("Счет успешно пополнен на %.2f руб. Новый баланс: %.2f руб.\n",
-                    amount, account.getBalance());
-        } catch (Exception e) {
-            System.out.println("Ошибка при пополнении: " + e.getMessage());
+        OperationResult result = engine.deposit(account.getAccountNumber(), amount);
+        if (result.isSuccess()) {
+            System.out.printf("Счет успешно пополнен на %s руб. Новый баланс: %s руб.\n",
+                    Money.format(amount), Money.format(result.getBalance()));
+        } else {
+            System.out.println("Ошибка при пополнении: " + result.getMessage());
         }
     }
 
@@ -76,18 +80,39 @@ public class BankService {
         if (account == null)
             return;
 
-        double amount = readPositiveDouble("Введите сумму для снятия: ");
+        long amount = readPositiveAmount("Введите сумму для снятия: ");
 
-        try {
-            boolean success = account.withdraw(amount);
-            if (success) {
-                System.out.printf("Со счета снято %.2f руб. Новый баланс: %.2f руб.\n",
-                        amount, account.getBalance());
-            } else {
-                System.out.println("Ошибка: недостаточно средств на счете!");
-            }
-        } catch (Exception e) {
-            System.out.println("Ошибка при снятии: " + e.getMessage());
+        OperationResult result = engine.withdraw(account.getAccountNumber(), amount);
+        if (result.isSuccess()) {
+            System.out.printf("Со счета снято %s руб. Новый баланс: %s руб.\n",
+                    Money.format(amount), Money.format(result.getBalance()));
+        } else if (result.getStatus() == OperationResult.Status.INSUFFICIENT_FUNDS) {
+            System.out.println("Ошибка: недостаточно средств на счете!");
+        } else {
+            System.out.println("Ошибка при снятии: " + result.getMessage());
+        }
+    }
+
+    /**
+     * Перевод между счетами
+     */
+    public void transfer() {
+        BankAccount from = findAccountByUserInput();
+        if (from == null)
+            return;
+
+        System.out.print("Введите номер счета получателя: ");
+        String toNumber = scanner.nextLine().trim();
+        long amount = readPositiveAmount("Введите сумму перевода: ");
+
+        OperationResult result = engine.transfer(from.getAccountNumber(), toNumber, amount);
+        if (result.isSuccess()) {
+            System.out.printf("Переведено %s руб. на счет %s. Новый баланс: %s руб.\n",
+                    Money.format(amount), toNumber, Money.format(result.getBalance()));
+        } else if (result.getStatus() == OperationResult.Status.INSUFFICIENT_FUNDS) {
+            System.out.println("Ошибка: недостаточно средств на счете!");
+        } else {
+            System.out.println("Ошибка при переводе: " + result.getMessage());
         }
     }
 
@@ -158,7 +183,8 @@ public class BankService {
      * Поиск по типу транзакции
      */
     private void searchByType(BankAccount account) {
-        System.out.println("Типы операций: " + BankAccount.DEPOSIT + ", " + BankAccount.WITHDRAWAL);
+        System.out.println("Типы операций: " + BankAccount.DEPOSIT + ", " + BankAccount.WITHDRAWAL
+                + ", " + BankAccount.TRANSFER_OUT + ", " + BankAccount.TRANSFER_IN);
         System.out.print("Введите тип операции: ");
         String type = scanner.nextLine().trim();
 
@@ -170,10 +196,10 @@ public class BankService {
      * Поиск по минимальной сумме
      */
     private void searchByAmount(BankAccount account) {
-        double minAmount = readPositiveDouble("Введите минимальную сумму: ");
+        long minAmount = readPositiveAmount("Введите минимальную сумму: ");
 
         List<Transaction> result = account.findTransactionsByMinAmount(minAmount);
-        displaySearchResults(result, "с суммой от: " + minAmount + " руб.");
+        displaySearchResults(result, "с суммой от: " + Money.format(minAmount) + " руб.");
     }
 
     /**
@@ -192,23 +218,11 @@ public class BankService {
         }
     }
 
-    /**
-     * Поиск счета по номеру
-     */
-    private BankAccount findAccountByNumber(String accountNumber) {
-        for (BankAccount account : accounts) {
-            if (account.getAccountNumber().equals(accountNumber)) {
-                return account;
-            }
-        }
-        return null;
-    }
-
     /**
      * Ввод номера счета пользователем
      */
     private BankAccount findAccountByUserInput() {
-        if (accounts.isEmpty()) {
+        if (engine.getAccountCount() == 0) {
             System.out.println("Нет открытых счетов!");
             return null;
         }
@@ -216,7 +230,7 @@ public class BankService {
         System.out.print("Введите номер счета: ");
         String accountNumber = scanner.nextLine().trim();
 
-        BankAccount account = findAccountByNumber(accountNumber);
+        BankAccount account = engine.findAccount(accountNumber);
         if (account == null) {
             System.out.println("Счет с номером '" + accountNumber + "' не найден!");
         }
@@ -225,20 +239,22 @@ public class BankService {
     }
 
     /**
-     * Чтение положительного числа с консоли
+     * Чтение положительной суммы с консоли
+     *
+     * @return сумма в копейках
      */
-    private double readPositiveDouble(String message) {
+    private long readPositiveAmount(String message) {
         while (true) {
             try {
                 System.out.print(message);
-                double value = Double.parseDouble(scanner.nextLine());
+                long value = Money.parse(scanner.nextLine());
                 if (value <= 0) {
                     System.out.println("Ошибка: введите положительное число!");
                     continue;
                 }
                 return value;
-            } catch (NumberFormatException e) {
-                System.out.println("Ошибка: введите корректное число!");
+            } catch (NumberFormatException | ArithmeticException e) {
+                System.out.println("Ошибка: введите сумму, например 150 или 150.25!");
             }
         }
     }
@@ -248,11 +264,12 @@ public class BankService {
      */
     public void showAllAccounts() {
         System.out.println("\n=== ВСЕ СЧЕТА ===");
-        if (accounts.isEmpty()) {
+        if (engine.getAccountCount() == 0) {
             System.out.println("Нет открытых счетов.");
         } else {
-            for (int i = 0; i < accounts.size(); i++) {
-                System.out.println((i + 1) + ". " + accounts.get(i));
+            int number = 1;
+            for (BankAccount account : engine.getAccounts()) {
+                System.out.println(number++ + ". " + account);
             }
         }
     }
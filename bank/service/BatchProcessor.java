@@ -0,0 +1,181 @@
+package bank.service;
+
+import bank.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Потоковая обработка файла операций через {@link BankEngine}.
+ * Файл читается построчно и не загружается в память целиком; после каждых batchSize
+ * операций слушателю передаётся {@link BatchReport} с итогами и временем пачки.
+ * Операции пачки не ждут записи в журнал по одной: пачка считается завершённой,
+ * когда подтверждены все её операции, поэтому на диск они сбрасываются группами.
+ *
+ * <p>Формат строки (CSV, разделитель — запятая):
+ * <pre>
+ * OPEN,номер,владелец,начальный депозит
+ * DEPOSIT,номер,сумма
+ * WITHDRAW,номер,сумма
+ * TRANSFER,номер источника,номер получателя,сумма
+ * BALANCE,номер
+ * </pre>
+ * Суммы записываются с точкой и не более чем двумя знаками после неё, например 150.25.
+ * Пустые строки и строки, начинающиеся с '#', пропускаются. Некорректная строка
+ * не прерывает обработку и учитывается со статусом {@link OperationResult.Status#INVALID}.
+ */
+public class BatchProcessor {
+    private static final int DEFAULT_BATCH_SIZE = 100_000;
+
+    private final BankEngine engine;
+    private final int batchSize;
+
+    public BatchProcessor(BankEngine engine) {
+        this(engine, DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchProcessor(BankEngine engine, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным");
+        }
+        this.engine = engine;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Обработка файла операций
+     *
+     * @param file     путь к файлу в UTF-8
+     * @param listener получатель отчётов по пачкам
+     * @return общий отчёт по всем операциям
+     */
+    public BatchReport process(Path file, Consumer<BatchReport> listener) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return process(reader, listener);
+        }
+    }
+
+    /**
+     * Обработка потока операций
+     *
+     * @param reader   источник строк операций
+     * @param listener получатель отчётов по пачкам
+     * @return общий отчёт по всем операциям
+     */
+    public BatchReport process(Reader reader, Consumer<BatchReport> listener) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        BatchReport total = new BatchReport(0);
+        int batchNumber = 1;
+        List<CompletableFuture<OperationResult>> pending = new ArrayList<>();
+        long batchStart = System.nanoTime();
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+
+            pending.add(execute(line));
+            if (pending.size() == batchSize) {
+                finishBatch(batchNumber++, pending, batchStart, total, listener);
+                pending.clear();
+                batchStart = System.nanoTime();
+            }
+        }
+        if (!pending.isEmpty()) {
+            finishBatch(batchNumber, pending, batchStart, total, listener);
+        }
+        return total;
+    }
+
+    /**
+     * Ожидание подтверждения всех операций пачки и отчёт по ней
+     */
+    private static void finishBatch(int batchNumber, List<CompletableFuture<OperationResult>> pending,
+            long batchStart, BatchReport total, Consumer<BatchReport> listener) throws IOException {
+        BatchReport batch = new BatchReport(batchNumber);
+        for (CompletableFuture<OperationResult> result : pending) {
+            try {
+                batch.record(result.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        batch.setElapsedNanos(System.nanoTime() - batchStart);
+        total.add(batch);
+        listener.accept(batch);
+    }
+
+    /**
+     * Разбор и выполнение одной строки операции
+     *
+     * @return future результата, завершающийся после записи операции в журнал
+     */
+    CompletableFuture<OperationResult> execute(String line) {
+        String[] fields = line.split(",", -1);
+        String accountNumber = fields.length > 1 ? fields[1].trim() : "";
+        try {
+            switch (fields[0].trim().toUpperCase()) {
+                case "OPEN":
+                    requireFields(fields, 4);
+                    return engine.openAccountAsync(accountNumber, fields[2].trim(), Money.parse(fields[3]));
+                case "DEPOSIT":
+                    requireFields(fields, 3);
+                    return engine.depositAsync(accountNumber, Money.parse(fields[2]));
+                case "WITHDRAW":
+                    requireFields(fields, 3);
+                    return engine.withdrawAsync(accountNumber, Money.parse(fields[2]));
+                case "TRANSFER":
+                    requireFields(fields, 4);
+                    return engine.transferAsync(accountNumber, fields[2].trim(), Money.parse(fields[3]));
+                case "BALANCE":
+                    requireFields(fields, 2);
+                    return CompletableFuture.completedFuture(engine.getBalance(accountNumber));
+                default:
+                    return CompletableFuture.completedFuture(OperationResult.failure(OperationResult.Status.INVALID,
+                            accountNumber, "Неизвестная операция: " + fields[0]));
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            // NumberFormatException — тоже IllegalArgumentException
+            return CompletableFuture.completedFuture(OperationResult.failure(OperationResult.Status.INVALID,
+                    accountNumber, "Некорректная строка '" + line + "': " + e.getMessage()));
+        }
+    }
+
+    private static void requireFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException("ожидается полей: " + count + ", получено: " + fields.length);
+        }
+    }
+
+    // Запуск: java bank.service.BatchProcessor файл_операций [размер_пачки] [файл_журнала]
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Использование: java bank.service.BatchProcessor <файл операций> [размер пачки]"
+                    + " [файл журнала]");
+            return;
+        }
+
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+        try (BankEngine engine = args.length > 2 ? BankEngine.open(Paths.get(args[2])) : new BankEngine()) {
+            BatchProcessor processor = new BatchProcessor(engine, batchSize);
+            BatchReport total = processor.process(Paths.get(args[0]), System.out::println);
+
+            System.out.println("Итого: " + total.getOperations() + " операций, успешно " + total.getSucceeded()
+                    + ", ошибок " + total.getFailed() + ", счетов " + engine.getAccountCount());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package bank.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Итоги обработки одной пачки операций: количество операций по статусам и время
+ */
+public class BatchReport {
+    private final int batchNumber;
+    private final Map<OperationResult.Status, Integer> counts;
+    private int operations;
+    private long elapsedNanos;
+
+    public BatchReport(int batchNumber) {
+        this.batchNumber = batchNumber;
+        this.counts = new EnumMap<>(OperationResult.Status.class);
+    }
+
+    /**
+     * Учёт результата одной операции
+     */
+    void record(OperationResult result) {
+        operations++;
+        counts.merge(result.getStatus(), 1, Integer::sum);
+    }
+
+    /**
+     * Добавление итогов другой пачки (для общего отчёта)
+     */
+    void add(BatchReport other) {
+        operations += other.operations;
+        elapsedNanos += other.elapsedNanos;
+        for (Map.Entry<OperationResult.Status, Integer> entry : other.counts.entrySet()) {
+            counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getBatchNumber() {
+        return batchNumber;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public int getSucceeded() {
+        return getCount(OperationResult.Status.OK);
+    }
+
+    public int getFailed() {
+        return operations - getSucceeded();
+    }
+
+    /**
+     * Количество операций с данным статусом
+     */
+    public int getCount(OperationResult.Status status) {
+        return counts.getOrDefault(status, 0);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Пропускная способность в операциях в секунду
+     */
+    public double getOperationsPerSecond() {
+        return elapsedNanos == 0 ? 0 : operations * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Пачка %d: операций %d, успешно %d, ошибок %d %s, время %.2f мс, %.0f оп/с",
+                batchNumber, operations, getSucceeded(), getFailed(), counts,
+                elapsedNanos / 1_000_000.0, getOperationsPerSecond());
+    }
+}
@@ -0,0 +1,82 @@
+package bank.service;
+
+/**
+ * Запись журнала операций: одна успешная операция над счетами
+ */
+public class JournalRecord {
+
+    /**
+     * Тип операции; код хранится в журнале одним байтом и не должен меняться
+     */
+    public enum Type {
+        OPEN(1),
+        DEPOSIT(2),
+        WITHDRAW(3),
+        TRANSFER(4);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        byte getCode() {
+            return code;
+        }
+
+        static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private final String accountNumber;
+    private final String counterparty;
+    private final long amount;
+
+    /**
+     * @param type          тип операции
+     * @param timestamp     время операции в миллисекундах от эпохи
+     * @param accountNumber номер счета (для перевода — счет-источник)
+     * @param counterparty  имя владельца для OPEN, счет-получатель для TRANSFER, иначе пустая строка
+     * @param amount        сумма в копейках
+     */
+    public JournalRecord(Type type, long timestamp, String accountNumber, String counterparty, long amount) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.accountNumber = accountNumber;
+        this.counterparty = counterparty;
+        this.amount = amount;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getCounterparty() {
+        return counterparty;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + accountNumber + (counterparty.isEmpty() ? "" : " " + counterparty) + " " + amount;
+    }
+}
@@ -0,0 +1,79 @@
+package bank.service;
+
+import bank.model.Money;
+
+/**
+ * Результат банковской операции без вывода на консоль
+ */
+public class OperationResult {
+
+    /**
+     * Итог операции
+     */
+    public enum Status {
+        OK,
+        NOT_FOUND,
+        DUPLICATE,
+        INSUFFICIENT_FUNDS,
+        INVALID,
+        // Журнал закрыт или не смог записать данные; операция не выполнялась
+        UNAVAILABLE
+    }
+
+    private final Status status;
+    private final String accountNumber;
+    private final long balance;
+    private final String message;
+
+    private OperationResult(Status status, String accountNumber, long balance, String message) {
+        this.status = status;
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.message = message;
+    }
+
+    /**
+     * Успешная операция с балансом счета после неё
+     */
+    public static OperationResult success(String accountNumber, long balance) {
+        return new OperationResult(Status.OK, accountNumber, balance, "Операция выполнена");
+    }
+
+    /**
+     * Неуспешная операция; баланс не определён
+     */
+    public static OperationResult failure(Status status, String accountNumber, String message) {
+        return new OperationResult(status, accountNumber, 0, message);
+    }
+
+    public boolean isSuccess() {
+        return status == Status.OK;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Получение баланса после операции в копейках (0 для неуспешной операции)
+     */
+    public long getBalance() {
+        return balance;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        if (isSuccess()) {
+            return String.format("%s: счет %s, баланс %s руб.", status, accountNumber, Money.format(balance));
+        }
+        return String.format("%s: счет %s - %s", status, accountNumber, message);
+    }
+}
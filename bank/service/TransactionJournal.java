@@ -0,0 +1,444 @@
+package bank.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал операций только на дозапись.
+ *
+ * <p>Формат файла: заголовок (int MAGIC, int VERSION), затем записи подряд:
+ * <pre>
+ * int  длина полезной нагрузки
+ * int  CRC32 полезной нагрузки
+ * byte тип операции
+ * long время в миллисекундах от эпохи
+ * long сумма в копейках
+ * short + UTF-8  номер счета
+ * short + UTF-8  владелец или счет-получатель
+ * </pre>
+ * При открытии журнал читается до первой неполной или повреждённой записи (обрыв записи
+ * при сбое), хвост после неё отрезается, и дозапись продолжается с этого места.
+ *
+ * <p>Запись идёт с групповой фиксацией: {@link #submit} ставит запись в очередь, а поток
+ * записи забирает из очереди пачку (не больше maxBatchSize записей, ожидая новые не дольше
+ * maxDelay после первой), пишет её одним вызовом и один раз сбрасывает на диск.
+ * Future каждой записи завершается, когда запись надёжно сохранена, поэтому один сброс
+ * на диск подтверждает операции многих одновременных вызывающих. Записи попадают
+ * в файл в порядке постановки в очередь.
+ */
+public class TransactionJournal implements Closeable {
+    private static final int MAGIC = 0x42414E4B; // "BANK"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // Тип, время, сумма и две строки предельной длины
+    private static final int MAX_PAYLOAD = 1 + 8 + 8 + 2 * (2 + 0xFFFF);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+    // Без ожидания пачка состоит из записей, накопившихся за время предыдущего сброса на диск
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ZERO;
+
+    // Запись в очереди (строки уже закодированы вызывающим потоком) и её подтверждение
+    private static final class Pending {
+        private final JournalRecord record;
+        private final byte[] account;
+        private final byte[] counterparty;
+        private final CompletableFuture<Void> durable;
+
+        private Pending(JournalRecord record, byte[] account, byte[] counterparty) {
+            this.record = record;
+            this.account = account;
+            this.counterparty = counterparty;
+            this.durable = new CompletableFuture<>();
+        }
+    }
+
+    // Метка остановки потока записи
+    private static final Pending STOP = new Pending(null, null, null);
+
+    private final FileChannel channel;
+    private final CRC32 crc;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    // Буфер и контрольная сумма используются только потоком записи (и до его запуска — при восстановлении)
+    private ByteBuffer writeBuffer;
+    // Меняется только под монитором журнала, читается и без него в isAccepting
+    private volatile boolean closed;
+    // После ошибки записи положение конца файла неизвестно, журнал больше не принимает записи
+    private volatile IOException failure;
+
+    private TransactionJournal(FileChannel channel, int maxBatchSize, Duration maxDelay) {
+        this.channel = channel;
+        this.crc = new CRC32();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new LinkedBlockingQueue<>();
+        this.writer = new Thread(this::writeLoop, "bank-journal-writer");
+        this.writer.setDaemon(true);
+        this.writeBuffer = ByteBuffer.allocate(4096);
+    }
+
+    /**
+     * Открытие журнала с параметрами групповой фиксации по умолчанию
+     *
+     * @param file   путь к файлу журнала
+     * @param replay получатель записей в порядке их записи
+     * @return журнал, готовый к дозаписи
+     */
+    public static TransactionJournal open(Path file, Consumer<JournalRecord> replay) throws IOException {
+        return open(file, replay, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Открытие журнала (создаётся, если его нет) с воспроизведением сохранённых записей
+     *
+     * @param file         путь к файлу журнала
+     * @param replay       получатель записей в порядке их записи
+     * @param maxBatchSize наибольшее число записей в одном сбросе на диск
+     * @param maxDelay     сколько ждать новых записей после первой записи пачки
+     * @return журнал, готовый к дозаписи
+     */
+    public static TransactionJournal open(Path file, Consumer<JournalRecord> replay, int maxBatchSize,
+            Duration maxDelay) throws IOException {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным");
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Задержка не может быть отрицательной");
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            TransactionJournal journal = new TransactionJournal(channel, maxBatchSize, maxDelay);
+            long end = journal.recover(replay);
+            if (channel.size() > end) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+            journal.writer.start();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Чтение заголовка и всех целых записей
+     *
+     * @return позиция конца последней целой записи
+     */
+    private long recover(Consumer<JournalRecord> replay) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            // Новый файл или обрыв при создании — пишем заголовок заново
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.truncate(0);
+            writeFully(header, 0);
+            channel.force(true);
+            return HEADER_SIZE;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Файл не является журналом банка");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия журнала: " + version);
+        }
+
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        ByteBuffer payload = ByteBuffer.allocate(4096);
+        long position = HEADER_SIZE;
+        long size = channel.size();
+        while (position + RECORD_HEADER_SIZE <= size) {
+            recordHeader.clear();
+            readFully(recordHeader, position);
+            recordHeader.flip();
+            int length = recordHeader.getInt();
+            int checksum = recordHeader.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+
+            if (payload.capacity() < length) {
+                payload = ByteBuffer.allocate(length);
+            }
+            payload.clear().limit(length);
+            readFully(payload, position + RECORD_HEADER_SIZE);
+            crc.reset();
+            crc.update(payload.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            payload.flip();
+            JournalRecord record = decode(payload);
+            if (record == null) {
+                break;
+            }
+            replay.accept(record);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    /**
+     * Постановка записи в очередь на групповую фиксацию
+     *
+     * @return future, завершающийся после сброса записи на диск
+     *         или с IOException, если записать не удалось
+     * @throws IllegalArgumentException если строка записи длиннее 65535 байт в UTF-8
+     */
+    public CompletableFuture<Void> submit(JournalRecord record) {
+        Pending pending = new Pending(record, toBytes(record.getAccountNumber()), toBytes(record.getCounterparty()));
+        synchronized (this) {
+            if (closed) {
+                pending.durable.completeExceptionally(new IOException("Журнал закрыт"));
+                return pending.durable;
+            }
+            queue.add(pending);
+        }
+        return pending.durable;
+    }
+
+    /**
+     * Принимает ли журнал новые записи: он не закрыт и запись на диск ни разу не завершилась ошибкой.
+     * Проверка не блокирует; запись, поставленная одновременно с закрытием или сбоем,
+     * всё равно может завершиться ошибкой.
+     *
+     * @return false, если все новые записи гарантированно завершатся ошибкой
+     */
+    public boolean isAccepting() {
+        return !closed && failure == null;
+    }
+
+    /**
+     * Запись с ожиданием сброса на диск
+     */
+    public void append(JournalRecord record) throws IOException {
+        try {
+            submit(record).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание записи в журнал прервано");
+        }
+    }
+
+    /**
+     * Цикл потока записи: пачка из очереди, одна запись в файл, один сброс на диск
+     */
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                Pending first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        running = false;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Поток записи прерывают только при аварийной остановке; ожидающих не бросаем
+                running = false;
+            }
+
+            writeBatch(batch);
+            batch.clear();
+        }
+
+        // После остановки потока новые записи не принимаются: иначе их future никто не завершит.
+        // Флаг ставится под тем же монитором, что и в submit, поэтому после него очередь не пополняется
+        synchronized (this) {
+            closed = true;
+        }
+
+        // Всё, что осталось в очереди после остановки, уже не будет записано
+        Pending rest;
+        while ((rest = queue.poll()) != null) {
+            if (rest != STOP) {
+                rest.durable.completeExceptionally(new IOException("Журнал закрыт"));
+            }
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (failure == null) {
+            try {
+                ByteBuffer buffer = writeBuffer;
+                buffer.clear();
+                for (Pending pending : batch) {
+                    buffer = encode(buffer, pending);
+                }
+                writeBuffer = buffer;
+                buffer.flip();
+                long position = channel.position();
+                writeFully(buffer, position);
+                channel.position(position + buffer.limit());
+                channel.force(false);
+            } catch (IOException | RuntimeException e) {
+                failure = e instanceof IOException ? (IOException) e : new IOException(e);
+            }
+        }
+
+        for (Pending pending : batch) {
+            if (failure == null) {
+                pending.durable.complete(null);
+            } else {
+                pending.durable.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * Дописывание записи вместе с длиной и контрольной суммой в буфер пачки
+     *
+     * @return тот же буфер или увеличенная копия, если места не хватило
+     */
+    private ByteBuffer encode(ByteBuffer buffer, Pending pending) {
+        JournalRecord record = pending.record;
+        byte[] account = pending.account;
+        byte[] counterparty = pending.counterparty;
+        int length = 1 + 8 + 8 + 2 + account.length + 2 + counterparty.length;
+        if (buffer.remaining() < RECORD_HEADER_SIZE + length) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + RECORD_HEADER_SIZE + length);
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER_SIZE);
+        buffer.put(record.getType().getCode());
+        buffer.putLong(record.getTimestamp());
+        buffer.putLong(record.getAmount());
+        buffer.putShort((short) account.length).put(account);
+        buffer.putShort((short) counterparty.length).put(counterparty);
+
+        crc.reset();
+        crc.update(buffer.array(), start + RECORD_HEADER_SIZE, length);
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        return buffer;
+    }
+
+    private static JournalRecord decode(ByteBuffer payload) {
+        JournalRecord.Type type = JournalRecord.Type.fromCode(payload.get());
+        if (type == null) {
+            return null;
+        }
+        long timestamp = payload.getLong();
+        long amount = payload.getLong();
+        String account = readString(payload);
+        String counterparty = readString(payload);
+        if (account == null || counterparty == null || payload.hasRemaining()) {
+            return null;
+        }
+        return new JournalRecord(type, timestamp, account, counterparty, amount);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        if (payload.remaining() < 2) {
+            return null;
+        }
+        int length = payload.getShort() & 0xFFFF;
+        if (payload.remaining() < length) {
+            return null;
+        }
+        String value = new String(payload.array(), payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    private static byte[] toBytes(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Слишком длинное значение для журнала");
+        }
+        return bytes;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Неожиданный конец журнала");
+            }
+            position += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Закрытие журнала: уже поставленные в очередь записи дописываются и подтверждаются,
+     * новые отклоняются
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            // Журнал мог закрыть и сам поток записи при аварийной остановке; файл всё равно закрываем
+            if (!closed) {
+                closed = true;
+                queue.add(STOP);
+            }
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+    }
+}
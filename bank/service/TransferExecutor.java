@@ -0,0 +1,138 @@
+package bank.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельное исполнение пачки переводов.
+ * Переводы раскладываются на волны: перевод попадает в волну сразу после последней
+ * более ранней волны, затрагивающей любой из его счетов. Внутри волны переводы
+ * не имеют общих счетов и выполняются параллельно, а переводы по одному счёту
+ * исполняются в том порядке, в котором они шли в пачке.
+ *
+ * <p>Следующая волна не ждёт записи предыдущей в журнал: порядок записей сохраняет
+ * очередь журнала, а все подтверждения ожидаются один раз в конце пачки.
+ */
+public class TransferExecutor {
+    // Волны меньше порога выполняются в вызывающем потоке
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final BankEngine engine;
+    private final ForkJoinPool pool;
+
+    public TransferExecutor(BankEngine engine) {
+        this(engine, ForkJoinPool.commonPool());
+    }
+
+    public TransferExecutor(BankEngine engine, ForkJoinPool pool) {
+        this.engine = engine;
+        this.pool = pool;
+    }
+
+    /**
+     * Исполнение пачки переводов
+     *
+     * @param transfers переводы в порядке поступления
+     * @return результаты в том же порядке
+     */
+    public List<OperationResult> execute(List<TransferRequest> transfers) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<OperationResult>[] pending =
+                (CompletableFuture<OperationResult>[]) new CompletableFuture<?>[transfers.size()];
+        for (int[] wave : planWaves(transfers)) {
+            if (wave.length < PARALLEL_THRESHOLD) {
+                new WaveTask(transfers, wave, 0, wave.length, pending).compute();
+            } else {
+                pool.invoke(new WaveTask(transfers, wave, 0, wave.length, pending));
+            }
+        }
+
+        List<OperationResult> results = new ArrayList<>(pending.length);
+        for (CompletableFuture<OperationResult> result : pending) {
+            results.add(result.join());
+        }
+        return results;
+    }
+
+    /**
+     * Разбиение на волны без общих счетов внутри волны
+     *
+     * @return индексы переводов для каждой волны по порядку
+     */
+    List<int[]> planWaves(List<TransferRequest> transfers) {
+        // Номер последней волны, в которой участвовал счёт
+        Map<String, Integer> lastWave = new HashMap<>();
+        int[] waveOf = new int[transfers.size()];
+        int[] waveSizes = new int[16];
+        int waveCount = 0;
+
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest transfer = transfers.get(i);
+            int wave = Math.max(lastWave.getOrDefault(transfer.getFromAccount(), -1),
+                    lastWave.getOrDefault(transfer.getToAccount(), -1)) + 1;
+            lastWave.put(transfer.getFromAccount(), wave);
+            lastWave.put(transfer.getToAccount(), wave);
+            waveOf[i] = wave;
+
+            if (wave == waveSizes.length) {
+                waveSizes = Arrays.copyOf(waveSizes, wave * 2);
+            }
+            waveSizes[wave]++;
+            waveCount = Math.max(waveCount, wave + 1);
+        }
+
+        List<int[]> waves = new ArrayList<>(waveCount);
+        for (int w = 0; w < waveCount; w++) {
+            waves.add(new int[waveSizes[w]]);
+        }
+        int[] filled = new int[waveCount];
+        for (int i = 0; i < waveOf.length; i++) {
+            waves.get(waveOf[i])[filled[waveOf[i]]++] = i;
+        }
+        return waves;
+    }
+
+    /**
+     * Исполнение части волны; переводы волны независимы, поэтому диапазон делится пополам
+     */
+    private final class WaveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<TransferRequest> transfers;
+        private final int[] wave;
+        private final int from;
+        private final int to;
+        private final CompletableFuture<OperationResult>[] results;
+
+        private WaveTask(List<TransferRequest> transfers, int[] wave, int from, int to,
+                CompletableFuture<OperationResult>[] results) {
+            this.transfers = transfers;
+            this.wave = wave;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    TransferRequest transfer = transfers.get(wave[i]);
+                    results[wave[i]] = engine.transferAsync(transfer.getFromAccount(), transfer.getToAccount(),
+                            transfer.getAmount());
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new WaveTask(transfers, wave, from, mid, results),
+                    new WaveTask(transfers, wave, mid, to, results));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package bank.service;
+
+import bank.model.Money;
+
+/**
+ * Заявка на перевод для пакетного исполнения; сумма в копейках
+ */
+public class TransferRequest {
+    private final String fromAccount;
+    private final String toAccount;
+    private final long amount;
+
+    public TransferRequest(String fromAccount, String toAccount, long amount) {
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+    }
+
+    public String getFromAccount() {
+        return fromAccount;
+    }
+
+    public String getToAccount() {
+        return toAccount;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> %s: %s руб.", fromAccount, toAccount, Money.format(amount));
+    }
+}